@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.benchmark.jmh;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pink.catty.benchmark.service.PojoService;
+import pink.catty.core.extension.ExtensionType.LoadBalanceType;
+import pink.catty.core.invoker.Consumer;
+import pink.catty.core.invoker.Invocation;
+import pink.catty.core.invoker.Invoker;
+import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.Request;
+import pink.catty.core.invoker.frame.Response;
+import pink.catty.core.meta.ClusterMeta;
+import pink.catty.core.meta.ConsumerMeta;
+import pink.catty.core.service.ServiceModel;
+import pink.catty.invokers.cluster.FailFastCluster;
+import pink.catty.invokers.consumer.ConsumerHandler;
+
+/**
+ * The proxy generated by ConsumerHandler#getProxy against a java.lang.reflect.Proxy over the same
+ * handler. The cluster's only endpoint replies the argument at once and nothing is serialized, so
+ * the difference is the cost of the proxy itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsumerProxyBenchmark {
+
+  private PojoService generated;
+  private PojoService reflective;
+
+  @Setup
+  public void setup() {
+    ServiceModel<PojoService> serviceModel = ServiceModel.parse(PojoService.class);
+    ConsumerMeta consumerMeta = new ConsumerMeta();
+    consumerMeta.setServiceModel(serviceModel);
+    ClusterMeta clusterMeta = new ClusterMeta();
+    clusterMeta.setLoadBalance(LoadBalanceType.RANDOM);
+    FailFastCluster cluster = new FailFastCluster(clusterMeta);
+    cluster.setInvokerMap(new HashMap<>());
+    cluster.registerInvoker("echo", new EchoEndpoint(consumerMeta));
+
+    generated = ConsumerHandler.getProxy(serviceModel, cluster);
+    reflective = (PojoService) Proxy.newProxyInstance(PojoService.class.getClassLoader(),
+        new Class[]{PojoService.class}, new ConsumerHandler<>(serviceModel, cluster));
+  }
+
+  @Benchmark
+  public String generated() {
+    return generated.service("ping");
+  }
+
+  @Benchmark
+  public String reflective() {
+    return reflective.service("ping");
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ConsumerProxyBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+  private static class EchoEndpoint implements Consumer {
+
+    private final ConsumerMeta meta;
+
+    private EchoEndpoint(ConsumerMeta meta) {
+      this.meta = meta;
+    }
+
+    @Override
+    public ConsumerMeta getMeta() {
+      return meta;
+    }
+
+    @Override
+    public Invoker getNext() {
+      return null;
+    }
+
+    @Override
+    public Response invoke(Request request, Invocation invocation) {
+      Response response = new DefaultResponse(request.getRequestId());
+      response.setValue(request.getArgsValue()[0]);
+      return response;
+    }
+  }
+}
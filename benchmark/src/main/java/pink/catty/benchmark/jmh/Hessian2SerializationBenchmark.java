@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.benchmark.jmh;
+
+import com.caucho.hessian.io.Hessian2Input;
+import com.caucho.hessian.io.Hessian2Output;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pink.catty.core.extension.ExtensionFactory;
+import pink.catty.core.extension.ExtensionType.SerializationType;
+import pink.catty.core.extension.spi.Serialization;
+
+/**
+ * Hessian2Serialization, which reuses streams by thread, against new streams for every call. Run
+ * with "-prof gc" to compare allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Hessian2SerializationBenchmark {
+
+  private Serialization serialization;
+  private Pojo value;
+  private byte[] serialized;
+
+  @Setup
+  public void setup() {
+    serialization = ExtensionFactory.getSerialization()
+        .getExtensionSingleton(SerializationType.HESSIAN2);
+    value = new Pojo();
+    value.id = 1024L;
+    value.name = "catty";
+    value.tags = Arrays.asList("rpc", "netty", "hessian2");
+    serialized = serialization.serialize(value);
+  }
+
+  @Benchmark
+  public byte[] serializeReused() {
+    return serialization.serialize(value);
+  }
+
+  @Benchmark
+  public byte[] serializeNew() throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    Hessian2Output out = new Hessian2Output(bos);
+    out.writeObject(value);
+    out.flush();
+    return bos.toByteArray();
+  }
+
+  @Benchmark
+  public Object deserializeReused() {
+    return serialization.deserialize(serialized, Pojo.class);
+  }
+
+  @Benchmark
+  public Object deserializeNew() throws IOException {
+    Hessian2Input in = new Hessian2Input(new ByteArrayInputStream(serialized));
+    return in.readObject(Pojo.class);
+  }
+
+  public static class Pojo implements Serializable {
+
+    private long id;
+    private String name;
+    private List<String> tags;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(Hessian2SerializationBenchmark.class.getSimpleName())
+        .addProfiler("gc")
+        .build())
+        .run();
+  }
+}
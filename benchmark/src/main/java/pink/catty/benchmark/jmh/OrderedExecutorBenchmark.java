@@ -0,0 +1,117 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.benchmark.jmh;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pink.catty.core.support.worker.HashLoopGroup;
+import pink.catty.core.support.worker.HashableChooserFactory;
+
+/**
+ * HashLoopGroup with DefaultEventExecutor children (queueCapacity = 0) against MpscEventExecutor
+ * children. Several producers, like IO threads, submit ordered tasks to fewer workers, every
+ * producer with its own hash.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class OrderedExecutorBenchmark {
+
+  private static final int BATCH = 128;
+
+  @State(Scope.Benchmark)
+  public static class Group {
+
+    @Param({"0", "65536"})
+    private int queueCapacity;
+
+    private HashLoopGroup group;
+    private final AtomicInteger producers = new AtomicInteger();
+
+    @Setup
+    public void setup() {
+      group = new HashLoopGroup(4, HashableChooserFactory.INSTANCE, queueCapacity);
+    }
+
+    @TearDown
+    public void tearDown() {
+      group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Producer {
+
+    private int hash;
+
+    @Setup
+    public void setup(Group group) {
+      hash = group.producers.getAndIncrement();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void submit(Group group, Producer producer) throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    Runnable task = () -> {
+    };
+    for (int i = 0; i < BATCH - 1; i++) {
+      submit(group.group, producer.hash, task);
+    }
+    submit(group.group, producer.hash, latch::countDown);
+    latch.await();
+  }
+
+  private static void submit(HashLoopGroup group, int hash, Runnable task) {
+    for (; ; ) {
+      try {
+        group.submit(hash, task);
+        return;
+      } catch (RejectedExecutionException e) {
+        Thread.yield();
+      }
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(OrderedExecutorBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+}
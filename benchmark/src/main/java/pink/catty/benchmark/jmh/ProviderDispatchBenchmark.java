@@ -0,0 +1,141 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.benchmark.jmh;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import pink.catty.core.service.MethodModel;
+import pink.catty.core.service.ServiceDispatcher;
+import pink.catty.core.service.ServiceModel;
+
+/**
+ * Provider side dispatch of ServiceDispatcher against Method#invoke, which ProviderInvoker used
+ * before. Calls rotate over all methods of the service, like a server serving several methods, so
+ * that neither path gets a monomorphic call site.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderDispatchBenchmark {
+
+  private DispatchService target;
+  private ServiceDispatcher dispatcher;
+  private MethodModel[] methodModels;
+  private Method[] methods;
+  private Object[][] args;
+  private int next;
+
+  @Setup
+  public void setup() {
+    ServiceModel<DispatchService> serviceModel = ServiceModel.parse(DispatchService.class);
+    target = new DispatchServiceImpl();
+    dispatcher = new ServiceDispatcher(serviceModel);
+    List<MethodModel> models = serviceModel.getMethodModels();
+    methodModels = models.toArray(new MethodModel[0]);
+    methods = new Method[methodModels.length];
+    args = new Object[methodModels.length][];
+    for (int i = 0; i < methodModels.length; i++) {
+      Method method = methodModels[i].getMethod();
+      method.setAccessible(true);
+      methods[i] = method;
+      args[i] = argsOf(method);
+    }
+  }
+
+  @Benchmark
+  public Object reflection() throws Exception {
+    int i = nextIndex();
+    return methods[i].invoke(target, args[i]);
+  }
+
+  @Benchmark
+  public Object dispatcher() throws Throwable {
+    int i = nextIndex();
+    return dispatcher.invoke(target, methodModels[i], args[i]);
+  }
+
+  private int nextIndex() {
+    int i = next;
+    next = i + 1 == methodModels.length ? 0 : i + 1;
+    return i;
+  }
+
+  private static Object[] argsOf(Method method) {
+    Class<?>[] types = method.getParameterTypes();
+    Object[] values = new Object[types.length];
+    for (int i = 0; i < types.length; i++) {
+      values[i] = types[i] == int.class ? (Object) 7 : "catty";
+    }
+    return values;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ProviderDispatchBenchmark.class.getSimpleName())
+        .build())
+        .run();
+  }
+
+  public interface DispatchService {
+
+    String echo(String text);
+
+    int add(int a, int b);
+
+    String concat(String a, String b, String c);
+
+    int length(String text);
+  }
+
+  public static class DispatchServiceImpl implements DispatchService {
+
+    @Override
+    public String echo(String text) {
+      return text;
+    }
+
+    @Override
+    public int add(int a, int b) {
+      return a + b;
+    }
+
+    @Override
+    public String concat(String a, String b, String c) {
+      return a;
+    }
+
+    @Override
+    public int length(String text) {
+      return text.length();
+    }
+  }
+}
@@ -83,6 +83,13 @@ public class Exporter {
     metaInfo.setSerialization(protocolConfig.getSerializationType());
     metaInfo.setCodec(protocolConfig.getCodecType());
     metaInfo.setEndpoint(protocolConfig.getEndpointType());
+    metaInfo.setWriteCoalescing(protocolConfig.isWriteCoalescing());
+    metaInfo.setWriteBatchSize(protocolConfig.getWriteBatchSize());
+    metaInfo.setWriteBatchBytes(protocolConfig.getWriteBatchBytes());
+    metaInfo.setTcpQuickAck(protocolConfig.isTcpQuickAck());
+    metaInfo.setCompression(protocolConfig.getCompressionType());
+    metaInfo.setCompressionEnabled(protocolConfig.isCompressionEnabled());
+    metaInfo.setCompressionThreshold(protocolConfig.getCompressionThreshold());
     metaInfo.setServiceModel(serviceModel);
     metaInfo.setWorkerThreadNum(serverConfig.getWorkerThreadNum());
 
@@ -105,7 +112,19 @@ public class Exporter {
     serverMeta.setSerialization(protocolConfig.getSerializationType());
     serverMeta.setCodec(protocolConfig.getCodecType());
     serverMeta.setEndpoint(protocolConfig.getEndpointType());
+    serverMeta.setWriteCoalescing(protocolConfig.isWriteCoalescing());
+    serverMeta.setWriteBatchSize(protocolConfig.getWriteBatchSize());
+    serverMeta.setWriteBatchBytes(protocolConfig.getWriteBatchBytes());
+    serverMeta.setTcpQuickAck(protocolConfig.isTcpQuickAck());
     serverMeta.setWorkerThreadNum(serverConfig.getWorkerThreadNum());
+    serverMeta.setMinWorkerThreadNum(serverConfig.getMinWorkerThreadNum());
+    serverMeta.setMaxWorkerThreadNum(serverConfig.getMaxWorkerThreadNum());
+    serverMeta.setNeedOrder(serverConfig.isNeedOrder());
+    serverMeta.setAcceptorNum(serverConfig.getAcceptorNum());
+    serverMeta.setMaxQueueTime(serverConfig.getMaxQueueTime());
+    serverMeta.setVirtualThread(serverConfig.isVirtualThread());
+    serverMeta.setMaxVirtualThreads(serverConfig.getMaxVirtualThreads());
+    serverMeta.setOrderedQueueCapacity(serverConfig.getOrderedQueueCapacity());
 
     EndpointFactory factory = ExtensionFactory.getEndpointFactory()
         .getExtensionSingleton(protocolConfig.getEndpointType());
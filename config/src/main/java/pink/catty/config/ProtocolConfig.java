@@ -1,9 +1,13 @@
 package pink.catty.config;
 
+import pink.catty.core.Constants;
 import pink.catty.core.extension.ExtensionType.CodecType;
+import pink.catty.core.extension.ExtensionType.CompressionType;
 import pink.catty.core.extension.ExtensionType.EndpointFactoryType;
 import pink.catty.core.extension.ExtensionType.LoadBalanceType;
 import pink.catty.core.extension.ExtensionType.SerializationType;
+import pink.catty.core.invoker.endpoint.BackpressurePolicy;
+import pink.catty.core.invoker.endpoint.ClientPool;
 
 public class ProtocolConfig {
 
@@ -19,6 +23,19 @@ public class ProtocolConfig {
   private int retryTimes;
   private int recoveryPeriod;
   private int heartbeatPeriod;
+  private boolean writeCoalescing;
+  private int writeBatchSize;
+  private int writeBatchBytes;
+  private int connectionNum = 1;
+  private String connectionSelector = ClientPool.ROUND_ROBIN;
+  private boolean tcpQuickAck;
+  private int maxPendingRequests;
+  private String backpressurePolicy;
+  private int writeBufferLowWaterMark;
+  private int writeBufferHighWaterMark;
+  private String compressionType = CompressionType.LZ4;
+  private boolean compressionEnabled;
+  private int compressionThreshold = Constants.DEFAULT_COMPRESSION_THRESHOLD;
 
   public static ProtocolConfig defaultConfig() {
     return new ProtocolConfig();
@@ -99,4 +116,150 @@ public class ProtocolConfig {
   public void setHeartbeatPeriod(int heartbeatPeriod) {
     this.heartbeatPeriod = heartbeatPeriod;
   }
+
+  public boolean isWriteCoalescing() {
+    return writeCoalescing;
+  }
+
+  /**
+   * If true, writes of one connection are flushed in batch by its event loop instead of once per
+   * message.
+   */
+  public void setWriteCoalescing(boolean writeCoalescing) {
+    this.writeCoalescing = writeCoalescing;
+  }
+
+  public int getWriteBatchSize() {
+    return writeBatchSize;
+  }
+
+  /**
+   * Max messages of one flush when write coalescing is enabled, {@link
+   * pink.catty.core.Constants#DEFAULT_WRITE_BATCH_SIZE} if not set.
+   */
+  public void setWriteBatchSize(int writeBatchSize) {
+    this.writeBatchSize = writeBatchSize;
+  }
+
+  public int getWriteBatchBytes() {
+    return writeBatchBytes;
+  }
+
+  /**
+   * Max bytes of one flush when write coalescing is enabled, {@link
+   * pink.catty.core.Constants#DEFAULT_WRITE_BATCH_BYTES} if not set.
+   */
+  public void setWriteBatchBytes(int writeBatchBytes) {
+    this.writeBatchBytes = writeBatchBytes;
+  }
+
+  public int getConnectionNum() {
+    return connectionNum;
+  }
+
+  /**
+   * Number of connections to one provider address, default 1.
+   */
+  public void setConnectionNum(int connectionNum) {
+    this.connectionNum = connectionNum;
+  }
+
+  public String getConnectionSelector() {
+    return connectionSelector;
+  }
+
+  /**
+   * {@link ClientPool#ROUND_ROBIN} or {@link ClientPool#LEAST_PENDING}.
+   */
+  public void setConnectionSelector(String connectionSelector) {
+    this.connectionSelector = connectionSelector;
+  }
+
+  public boolean isTcpQuickAck() {
+    return tcpQuickAck;
+  }
+
+  /**
+   * Enable TCP_QUICKACK, only works with {@link EndpointFactoryType#NETTY_EPOLL}.
+   */
+  public void setTcpQuickAck(boolean tcpQuickAck) {
+    this.tcpQuickAck = tcpQuickAck;
+  }
+
+  public int getMaxPendingRequests() {
+    return maxPendingRequests;
+  }
+
+  /**
+   * Max requests waiting for response of one connection, 0 means no limit.
+   */
+  public void setMaxPendingRequests(int maxPendingRequests) {
+    this.maxPendingRequests = maxPendingRequests;
+  }
+
+  public String getBackpressurePolicy() {
+    return backpressurePolicy;
+  }
+
+  /**
+   * {@link BackpressurePolicy}, no backpressure if not set.
+   */
+  public void setBackpressurePolicy(String backpressurePolicy) {
+    this.backpressurePolicy = backpressurePolicy;
+  }
+
+  public int getWriteBufferLowWaterMark() {
+    return writeBufferLowWaterMark;
+  }
+
+  public void setWriteBufferLowWaterMark(int writeBufferLowWaterMark) {
+    this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+  }
+
+  public int getWriteBufferHighWaterMark() {
+    return writeBufferHighWaterMark;
+  }
+
+  /**
+   * The connection becomes not writable if the bytes waiting for writing exceed high water mark,
+   * and becomes writable again if they drop below low water mark. Netty's default if not set.
+   */
+  public void setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
+    this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+  }
+
+  public String getCompressionType() {
+    return compressionType;
+  }
+
+  /**
+   * {@link CompressionType}
+   */
+  public void setCompressionType(String compressionType) {
+    this.compressionType = compressionType;
+  }
+
+  public boolean isCompressionEnabled() {
+    return compressionEnabled;
+  }
+
+  /**
+   * If true, return values of every method of the service are compressed if they are larger than
+   * compression threshold and the client accepts compression. Otherwise only methods with {@link
+   * pink.catty.core.service.RpcMethod#compress()} are compressed.
+   */
+  public void setCompressionEnabled(boolean compressionEnabled) {
+    this.compressionEnabled = compressionEnabled;
+  }
+
+  public int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  /**
+   * Min bytes of serialized return value to be compressed.
+   */
+  public void setCompressionThreshold(int compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+  }
 }
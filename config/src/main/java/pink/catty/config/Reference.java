@@ -90,6 +90,16 @@ public class Reference<T> {
           clusterMeta.setSerialization(protocolConfig.getSerializationType());
           clusterMeta.setCodec(protocolConfig.getCodecType());
           clusterMeta.setEndpoint(protocolConfig.getEndpointType());
+          clusterMeta.setWriteCoalescing(protocolConfig.isWriteCoalescing());
+          clusterMeta.setWriteBatchSize(protocolConfig.getWriteBatchSize());
+          clusterMeta.setWriteBatchBytes(protocolConfig.getWriteBatchBytes());
+          clusterMeta.setTcpQuickAck(protocolConfig.isTcpQuickAck());
+          clusterMeta.setMaxPendingRequests(protocolConfig.getMaxPendingRequests());
+          clusterMeta.setBackpressurePolicy(protocolConfig.getBackpressurePolicy());
+          clusterMeta.setWriteBufferLowWaterMark(protocolConfig.getWriteBufferLowWaterMark());
+          clusterMeta.setWriteBufferHighWaterMark(protocolConfig.getWriteBufferHighWaterMark());
+          clusterMeta.setConnectionNum(protocolConfig.getConnectionNum());
+          clusterMeta.setConnectionSelector(protocolConfig.getConnectionSelector());
           clusterMeta.setHealthCheckPeriod(protocolConfig.getHeartbeatPeriod());
           clusterMeta.setLoadBalance(protocolConfig.getLoadBalanceType());
           clusterMeta.setRetryTimes(protocolConfig.getRetryTimes());
@@ -29,6 +29,11 @@ public class ServerConfig {
   private int workerThreadNum;
   private int minWorkerThreadNum;
   private int maxWorkerThreadNum;
+  private int acceptorNum;
+  private int maxQueueTime;
+  private boolean virtualThread;
+  private int maxVirtualThreads;
+  private int orderedQueueCapacity;
   private volatile ServerAddress address;
 
   /**
@@ -94,6 +99,65 @@ public class ServerConfig {
     this.maxWorkerThreadNum = maxWorkerThreadNum;
   }
 
+  public int getAcceptorNum() {
+    return acceptorNum;
+  }
+
+  /**
+   * Number of channels accepting connections on the port by SO_REUSEPORT, only works with {@link
+   * pink.catty.core.extension.ExtensionType.EndpointFactoryType#NETTY_EPOLL}.
+   */
+  public void setAcceptorNum(int acceptorNum) {
+    this.acceptorNum = acceptorNum;
+  }
+
+  public int getMaxQueueTime() {
+    return maxQueueTime;
+  }
+
+  /**
+   * Milli-seconds. A request waiting in queue longer than this budget is rejected before executing,
+   * 0 means no limit.
+   */
+  public void setMaxQueueTime(int maxQueueTime) {
+    this.maxQueueTime = maxQueueTime;
+  }
+
+  public boolean isVirtualThread() {
+    return virtualThread;
+  }
+
+  /**
+   * Execute every request by a new virtual thread instead of a worker pool, Java 21+ is needed.
+   */
+  public void setVirtualThread(boolean virtualThread) {
+    this.virtualThread = virtualThread;
+  }
+
+  public int getMaxVirtualThreads() {
+    return maxVirtualThreads;
+  }
+
+  /**
+   * Max number of requests executed by virtual threads at the same time, 0 means no limit.
+   */
+  public void setMaxVirtualThreads(int maxVirtualThreads) {
+    this.maxVirtualThreads = maxVirtualThreads;
+  }
+
+  public int getOrderedQueueCapacity() {
+    return orderedQueueCapacity;
+  }
+
+  /**
+   * If needOrder is set and this capacity is greater than 0, every ordered worker queues requests
+   * in a bounded lock-free queue of this capacity, requests to a full queue are rejected. 0 means
+   * unbounded blocking queues.
+   */
+  public void setOrderedQueueCapacity(int orderedQueueCapacity) {
+    this.orderedQueueCapacity = orderedQueueCapacity;
+  }
+
   public ServerAddress getServerAddress() {
     if (address == null) {
       synchronized (this) {
@@ -126,6 +190,11 @@ public class ServerConfig {
     private int minWorkerThreadNum;
     private int maxWorkerThreadNum;
     private boolean needOrder;
+    private int acceptorNum;
+    private int maxQueueTime;
+    private boolean virtualThread;
+    private int maxVirtualThreads;
+    private int orderedQueueCapacity;
 
     public ServerConfigBuilder port(int port) {
       this.port = port;
@@ -152,9 +221,40 @@ public class ServerConfig {
       return this;
     }
 
+    public ServerConfigBuilder acceptorNum(int acceptorNum) {
+      this.acceptorNum = acceptorNum;
+      return this;
+    }
+
+    public ServerConfigBuilder maxQueueTime(int maxQueueTime) {
+      this.maxQueueTime = maxQueueTime;
+      return this;
+    }
+
+    public ServerConfigBuilder virtualThread(boolean virtualThread) {
+      this.virtualThread = virtualThread;
+      return this;
+    }
+
+    public ServerConfigBuilder maxVirtualThreads(int maxVirtualThreads) {
+      this.maxVirtualThreads = maxVirtualThreads;
+      return this;
+    }
+
+    public ServerConfigBuilder orderedQueueCapacity(int orderedQueueCapacity) {
+      this.orderedQueueCapacity = orderedQueueCapacity;
+      return this;
+    }
+
     public ServerConfig build() {
-      return new ServerConfig(port, workerThreadNum, minWorkerThreadNum, maxWorkerThreadNum,
-          needOrder);
+      ServerConfig serverConfig = new ServerConfig(port, workerThreadNum, minWorkerThreadNum,
+          maxWorkerThreadNum, needOrder);
+      serverConfig.setAcceptorNum(acceptorNum);
+      serverConfig.setMaxQueueTime(maxQueueTime);
+      serverConfig.setVirtualThread(virtualThread);
+      serverConfig.setMaxVirtualThreads(maxVirtualThreads);
+      serverConfig.setOrderedQueueCapacity(orderedQueueCapacity);
+      return serverConfig;
     }
   }
 
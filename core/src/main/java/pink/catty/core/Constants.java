@@ -22,6 +22,16 @@ public interface Constants {
 
   int DEFAULT_CLIENT_TIMEOUT = 3000; // 3 seconds.
 
+  int DEFAULT_REQUEST_TIMEOUT = 30 * 1000; // 30 seconds.
+
+  int DEFAULT_WRITE_BATCH_SIZE = 64;
+
+  int DEFAULT_WRITE_BATCH_BYTES = 64 * 1024; // 64k.
+
+  int DEFAULT_COMPRESSION_THRESHOLD = 16 * 1024; // 16k.
+
+  int DEFAULT_MAX_DECOMPRESSED_LENGTH = 64 * 1024 * 1024; // 64M.
+
   String HEARTBEAT_SERVICE_NAME = "cd6a8da1-0271-4e71-91a6-9bf1f9fcc212";
 
   String HEARTBEAT_METHOD_NAME = "1074fb58-0b58-4b15-87cb-de33082c4f51";
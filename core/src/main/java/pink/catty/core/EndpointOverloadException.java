@@ -0,0 +1,42 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core;
+
+/**
+ * Thrown when a client has too many requests waiting for response or too many bytes waiting for
+ * writing. The endpoint is still valid, the invocation can be retried on another endpoint.
+ */
+public class EndpointOverloadException extends CattyException {
+
+  public EndpointOverloadException() {
+  }
+
+  public EndpointOverloadException(String message) {
+    super(message);
+  }
+
+  public EndpointOverloadException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public EndpointOverloadException(Throwable cause) {
+    super(cause);
+  }
+
+  public EndpointOverloadException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core;
+
+/**
+ * The server rejected a request without executing it because it is overloaded: too many requests
+ * in-flight, the request waited in queue too long, or the executor is full. The request can be
+ * retried on another server.
+ */
+public class ServerBusyException extends CattyException {
+
+  public ServerBusyException() {
+  }
+
+  public ServerBusyException(String message) {
+    super(message);
+  }
+
+  public ServerBusyException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public ServerBusyException(Throwable cause) {
+    super(cause);
+  }
+
+  public ServerBusyException(String message, Throwable cause, boolean enableSuppression,
+      boolean writableStackTrace) {
+    super(message, cause, enableSuppression, writableStackTrace);
+  }
+}
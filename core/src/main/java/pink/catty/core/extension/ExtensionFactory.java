@@ -31,6 +31,7 @@ import java.util.jar.JarFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pink.catty.core.extension.spi.Codec;
+import pink.catty.core.extension.spi.Compression;
 import pink.catty.core.extension.spi.EndpointFactory;
 import pink.catty.core.extension.spi.InvokerChainBuilder;
 import pink.catty.core.extension.spi.LoadBalance;
@@ -41,10 +42,11 @@ import pink.catty.core.utils.ReflectUtils;
 
 /**
  * Catty has some build-in extension interface for customizing, such as: {@link Serialization}
- * {@link Invoker} {@link InvokerChainBuilder} {@link Codec} {@link LoadBalance} {@link
- * EndpointFactory} {@link Registry}. And there are also some build-in implements of those extension
- * interface you can find them in extension-module. You can use Reference and Exporter(you can find
- * both in config-module) to config different implements to make Catty work in another way.
+ * {@link Compression} {@link Invoker} {@link InvokerChainBuilder} {@link Codec} {@link
+ * LoadBalance} {@link EndpointFactory} {@link Registry}. And there are also some build-in
+ * implements of those extension interface you can find them in extension-module. You can use
+ * Reference and Exporter(you can find both in config-module) to config different implements to
+ * make Catty work in another way.
  *
  * Every extension implements in extension-module will be auto registered in ExtensionFactory when
  * ExtensionFactory class initializing.
@@ -57,6 +59,7 @@ import pink.catty.core.utils.ReflectUtils;
  * implements has no need to use this annotation.
  *
  * @see Serialization
+ * @see Compression
  * @see Codec
  * @see LoadBalance
  * @see EndpointFactory
@@ -74,6 +77,7 @@ public final class ExtensionFactory<T> {
   private static final String FILE_PROTOCOL = "file";
 
   private static ExtensionFactory<Serialization> SERIALIZATION;
+  private static ExtensionFactory<Compression> COMPRESSION;
   private static ExtensionFactory<LoadBalance> LOAD_BALANCE;
   private static ExtensionFactory<Codec> CODEC;
   private static ExtensionFactory<InvokerChainBuilder> INVOKER_BUILDER;
@@ -82,6 +86,7 @@ public final class ExtensionFactory<T> {
 
   static {
     SERIALIZATION = new ExtensionFactory<>(Serialization.class);
+    COMPRESSION = new ExtensionFactory<>(Compression.class);
     LOAD_BALANCE = new ExtensionFactory<>(LoadBalance.class);
     CODEC = new ExtensionFactory<>(Codec.class);
     INVOKER_BUILDER = new ExtensionFactory<>(InvokerChainBuilder.class);
@@ -102,6 +107,7 @@ public final class ExtensionFactory<T> {
     List<ExtensionFactory> extensionFactories = new ArrayList<ExtensionFactory>() {
       {
         add(SERIALIZATION);
+        add(COMPRESSION);
         add(LOAD_BALANCE);
         add(CODEC);
         add(INVOKER_BUILDER);
@@ -204,6 +210,10 @@ public final class ExtensionFactory<T> {
     return SERIALIZATION;
   }
 
+  public static ExtensionFactory<Compression> getCompression() {
+    return COMPRESSION;
+  }
+
   public static ExtensionFactory<LoadBalance> getLoadBalance() {
     return LOAD_BALANCE;
   }
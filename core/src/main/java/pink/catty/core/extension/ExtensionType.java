@@ -23,6 +23,10 @@ public final class ExtensionType {
     String HESSIAN2 = "hessian2";
   }
 
+  public interface CompressionType {
+    String LZ4 = "lz4";
+  }
+
   public interface LoadBalanceType {
     String RANDOM = "random";
     String WEIGHTED_RANDOM = "weighted_random";
@@ -30,6 +34,7 @@ public final class ExtensionType {
 
   public interface CodecType {
     String CATTY = "catty";
+    String CATTY_DIRECT = "catty_direct";
   }
 
   public interface InvokerBuilderType {
@@ -42,6 +47,7 @@ public final class ExtensionType {
 
   public interface EndpointFactoryType {
     String NETTY = "netty";
+    String NETTY_EPOLL = "netty_epoll";
   }
 
 }
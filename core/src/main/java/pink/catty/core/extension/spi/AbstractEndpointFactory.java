@@ -21,6 +21,7 @@ import org.slf4j.LoggerFactory;
 import pink.catty.core.ServerAddress;
 import pink.catty.core.extension.ExtensionFactory;
 import pink.catty.core.invoker.endpoint.Client;
+import pink.catty.core.invoker.endpoint.ClientPool;
 import pink.catty.core.invoker.endpoint.Server;
 import pink.catty.core.meta.ClientMeta;
 import pink.catty.core.meta.ServerMeta;
@@ -44,7 +45,11 @@ public abstract class AbstractEndpointFactory implements EndpointFactory {
       synchronized (clientCache) {
         if (!clientCache.containsKey(address)) {
           Codec codec = ExtensionFactory.getCodec().getExtensionSingleton(clientMeta.getCodec());
-          client = doCreateClient(clientMeta, codec);
+          if (clientMeta.getConnectionNum() > 1) {
+            client = new ClientPool(clientMeta, codec, () -> doCreateClient(clientMeta, codec));
+          } else {
+            client = doCreateClient(clientMeta, codec);
+          }
           client.open();
           clientCache.put(address, client);
           logger.info("EndpointFactory: a new client has bean created. ip: {}, port: {}.",
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.extension.spi;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import pink.catty.core.CodecException;
+
+/**
+ * A Codec works directly on netty's ByteBuf instead of byte[], so a frame is neither copied out of
+ * the inbound buffer nor copied into the outbound buffer.
+ *
+ * The data package read by {@link #readPackage(Object, java.util.List)} is a retained slice of the
+ * inbound buffer, the endpoint should release it after {@link #decode(ByteBuf, DataTypeEnum)}. The
+ * ByteBuf returned by {@link #encode(Object, DataTypeEnum, ByteBufAllocator)} is owned by the
+ * caller, usually it is released by netty after been written.
+ */
+public interface ByteBufCodec extends Codec<ByteBuf, ByteBuf> {
+
+  /**
+   * Encode message into a buffer allocated from allocator, including the frame header.
+   */
+  ByteBuf encode(Object message, DataTypeEnum dataTypeEnum, ByteBufAllocator allocator)
+      throws CodecException;
+
+  /**
+   * Decode a data package read by {@link #readPackage(Object, java.util.List)}. This method
+   * doesn't release data.
+   */
+  Object decode(ByteBuf data, DataTypeEnum dataTypeEnum) throws CodecException;
+
+}
@@ -14,10 +14,45 @@
  */
 package pink.catty.core.extension.spi;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import pink.catty.core.SerializationException;
+
 public interface Serialization {
 
   byte[] serialize(Object object);
 
   <T> T deserialize(byte[] bytes, Class<T> clazz);
 
+  /**
+   * Serialize object into the stream, so that it could be written into the outbound buffer
+   * directly. The stream is neither flushed nor closed.
+   */
+  default void serialize(Object object, OutputStream out) {
+    try {
+      out.write(serialize(object));
+    } catch (IOException e) {
+      throw new SerializationException("Write serialized object error", e);
+    }
+  }
+
+  /**
+   * Deserialize object from the stream, all remaining bytes of the stream are the object.
+   */
+  default <T> T deserialize(InputStream in, Class<T> clazz) {
+    try {
+      ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(in.available(), 32));
+      byte[] buffer = new byte[4096];
+      int n;
+      while ((n = in.read(buffer)) != -1) {
+        bos.write(buffer, 0, n);
+      }
+      return deserialize(bos.toByteArray(), clazz);
+    } catch (IOException e) {
+      throw new SerializationException("Read serialized object error", e);
+    }
+  }
+
 }
@@ -17,13 +17,9 @@ package pink.catty.core.invoker;
 import pink.catty.core.meta.MetaInfo;
 import pink.catty.core.service.MethodModel;
 import pink.catty.core.service.ServiceModel;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 public final class Invocation {
 
-  private Map<String, Object> attribute = new ConcurrentHashMap<>();
-
   private MetaInfo metaInfo;
 
   private ServiceModel serviceModel;
@@ -32,6 +28,26 @@ public final class Invocation {
 
   private Object target;
 
+  /**
+   * System.nanoTime() when the request arrived at server, 0 if unknown.
+   */
+  private long arrivalTime;
+
+  /**
+   * System.nanoTime() after which the caller will not wait for the response, 0 if unknown.
+   */
+  private long deadline;
+
+  /**
+   * If the arguments of request have been prepared for serialization, a retry reuses them.
+   */
+  private boolean argsSerialized;
+
+  /**
+   * If the server has taken in-flight permits for this invocation, which must be released.
+   */
+  private boolean inflightAcquired;
+
   public Object getTarget() {
     return target;
   }
@@ -64,6 +80,38 @@ public final class Invocation {
     this.serviceModel = serviceModel;
   }
 
+  public long getArrivalTime() {
+    return arrivalTime;
+  }
+
+  public void setArrivalTime(long arrivalTime) {
+    this.arrivalTime = arrivalTime;
+  }
+
+  public long getDeadline() {
+    return deadline;
+  }
+
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
+  public boolean isArgsSerialized() {
+    return argsSerialized;
+  }
+
+  public void setArgsSerialized(boolean argsSerialized) {
+    this.argsSerialized = argsSerialized;
+  }
+
+  public boolean isInflightAcquired() {
+    return inflightAcquired;
+  }
+
+  public void setInflightAcquired(boolean inflightAcquired) {
+    this.inflightAcquired = inflightAcquired;
+  }
+
   @Override
   public String toString() {
     return invokedMethod.getMethod().toString();
@@ -18,14 +18,50 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import pink.catty.core.CattyException;
+import pink.catty.core.Constants;
+import pink.catty.core.EndpointOverloadException;
+import pink.catty.core.RpcTimeoutException;
 import pink.catty.core.extension.spi.Codec;
+import pink.catty.core.invoker.Invocation;
+import pink.catty.core.invoker.frame.Request;
 import pink.catty.core.invoker.frame.Response;
 import pink.catty.core.meta.ClientMeta;
+import pink.catty.core.service.MethodModel;
+import pink.catty.core.support.PendingResponseTable;
+import pink.catty.core.support.timer.HashedWheelTimer;
+import pink.catty.core.support.timer.Timeout;
+import pink.catty.core.support.timer.Timer;
 
 public abstract class AbstractClient extends AbstractEndpoint implements Client {
 
+  /**
+   * Shared by all clients, evicts the pending responses whose provider never answers.
+   */
+  private static final Timer TIMEOUT_TIMER = new HashedWheelTimer(new ThreadFactory() {
+    @Override
+    public Thread newThread(Runnable r) {
+      Thread thread = new Thread(r, "catty-client-timeout");
+      thread.setDaemon(true);
+      return thread;
+    }
+  }, 10, TimeUnit.MILLISECONDS);
+
   private ClientMeta clientMeta;
-  private Map<Long, Response> currentTask = new ConcurrentHashMap<>();
+  private PendingResponseTable currentTask = new PendingResponseTable();
+  private LongAdder timeoutCount = new LongAdder();
+  private LongAdder overloadCount = new LongAdder();
+  private final Object backpressureLock = new Object();
+  private final AtomicInteger blockedCount = new AtomicInteger();
+
+  /*
+   * (serviceId << 32 | methodId) assigned by the server of this connection, keyed by MethodModel.
+   */
+  private final Map<MethodModel, Long> dispatchIds = new ConcurrentHashMap<>();
 
   public AbstractClient(ClientMeta clientMeta, Codec codec) {
     super(codec);
@@ -33,11 +69,159 @@ public abstract class AbstractClient extends AbstractEndpoint implements Client
   }
 
   public Response getResponseFuture(long requestId) {
-    return currentTask.remove(requestId);
+    Response response = currentTask.remove(requestId);
+    if (response != null) {
+      signalBackpressure();
+    }
+    return response;
+  }
+
+  public boolean addCurrentTask(long requestId, Response response) {
+    return addCurrentTask(requestId, response, Constants.DEFAULT_REQUEST_TIMEOUT);
+  }
+
+  /**
+   * Add a pending response, if there is no reply after timeout milli-seconds, the response will be
+   * removed and completed with a {@link RpcTimeoutException}.
+   *
+   * Returns false if another response is pending with the same request id, the response is
+   * completed with a CattyException at once and the request should not be sent.
+   */
+  public boolean addCurrentTask(long requestId, Response response, long timeout) {
+    if (!currentTask.put(requestId, response)) {
+      response.setValue(new CattyException("Duplicated request id: " + requestId
+          + ", a request with the same id is still pending"));
+      return false;
+    }
+    Timeout evictTask = TIMEOUT_TIMER.newTimeout(t -> {
+      if (currentTask.remove(requestId, response)) {
+        timeoutCount.increment();
+        signalBackpressure();
+        response.setValue(new RpcTimeoutException(
+            "Request: " + requestId + " timeout, no response after " + timeout + "ms"));
+      }
+    }, timeout, TimeUnit.MILLISECONDS);
+    response.whenComplete((v, t) -> evictTask.cancel());
+    return true;
+  }
+
+  /**
+   * If the server of this connection has told the ids of the invoked method, let the request carry
+   * ids instead of names. Otherwise learn the ids from the response.
+   */
+  protected void bindDispatchIds(Request request, Invocation invocation, Response response) {
+    MethodModel methodModel = invocation.getInvokedMethod();
+    if (methodModel == null) {
+      return;
+    }
+    Long ids = dispatchIds.get(methodModel);
+    if (ids != null) {
+      request.setServiceId((int) (ids >>> 32));
+      request.setMethodId(ids.intValue());
+      return;
+    }
+    // the request may carry ids of another connection when retrying.
+    request.setServiceId(0);
+    request.setMethodId(0);
+    response.whenComplete((v, t) -> {
+      if (response.getServiceId() > 0 && response.getMethodId() > 0) {
+        dispatchIds.putIfAbsent(methodModel,
+            (long) response.getServiceId() << 32 | response.getMethodId());
+      }
+    });
+  }
+
+  /**
+   * If this client is overloaded, block or throw {@link EndpointOverloadException} according to
+   * the {@link BackpressurePolicy}. Do nothing if no backpressure policy configured.
+   */
+  protected void checkBackpressure(long timeout) {
+    String policy = clientMeta.getBackpressurePolicy();
+    if (policy == null || policy.isEmpty() || !isOverloaded()) {
+      return;
+    }
+    if (BackpressurePolicy.BLOCK.equals(policy)) {
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+      blockedCount.incrementAndGet();
+      try {
+        synchronized (backpressureLock) {
+          while (isOverloaded()) {
+            long waitMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (waitMillis <= 0) {
+              break;
+            }
+            backpressureLock.wait(waitMillis);
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        blockedCount.decrementAndGet();
+      }
+      if (!isOverloaded()) {
+        return;
+      }
+    }
+    overloadCount.increment();
+    throw new EndpointOverloadException("Client overloaded, pending requests: "
+        + currentTask.size() + ", writable: " + isWritable() + ", address: "
+        + clientMeta.getRemoteIp() + ":" + clientMeta.getRemotePort());
+  }
+
+  /**
+   * Wake up the callers blocked by backpressure, should be called when a pending request is done
+   * or the client becomes writable.
+   */
+  protected void signalBackpressure() {
+    if (blockedCount.get() > 0) {
+      synchronized (backpressureLock) {
+        backpressureLock.notifyAll();
+      }
+    }
+  }
+
+  protected boolean isOverloaded() {
+    int maxPending = clientMeta.getMaxPendingRequests();
+    return (maxPending > 0 && currentTask.size() >= maxPending) || !isWritable();
+  }
+
+  /**
+   * If false, too many bytes are waiting for writing.
+   */
+  protected boolean isWritable() {
+    return true;
+  }
+
+  /**
+   * Timeout of an invocation: RpcMethod's timeout, RpcService's timeout, or the default timeout.
+   */
+  protected long getTimeout(Invocation invocation) {
+    int timeout = invocation.getInvokedMethod().getTimeout();
+    if (timeout <= 0 && invocation.getServiceModel() != null) {
+      timeout = invocation.getServiceModel().getTimeout();
+    }
+    if (timeout <= 0) {
+      timeout = Constants.DEFAULT_REQUEST_TIMEOUT;
+    }
+    return timeout;
+  }
+
+  public PendingResponseTable getCurrentTask() {
+    return currentTask;
+  }
+
+  /**
+   * Number of pending responses been evicted because of timeout.
+   */
+  public long getTimeoutCount() {
+    return timeoutCount.sum();
   }
 
-  public void addCurrentTask(long requestId, Response response) {
-    currentTask.putIfAbsent(requestId, response);
+  /**
+   * Number of invocations rejected because of backpressure.
+   */
+  public long getOverloadCount() {
+    return overloadCount.sum();
   }
 
   @Override
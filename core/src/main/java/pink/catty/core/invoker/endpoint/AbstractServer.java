@@ -14,15 +14,23 @@
  */
 package pink.catty.core.invoker.endpoint;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import pink.catty.core.CattyException;
 import pink.catty.core.Constants;
+import pink.catty.core.ServerBusyException;
 import pink.catty.core.extension.spi.Codec;
 import pink.catty.core.invoker.Invocation;
 import pink.catty.core.invoker.Provider;
+import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.Payload;
 import pink.catty.core.invoker.frame.Request;
 import pink.catty.core.invoker.frame.Response;
 import pink.catty.core.meta.ServerMeta;
@@ -32,6 +40,7 @@ import pink.catty.core.support.worker.HashLoopGroup;
 import pink.catty.core.support.worker.HashableChooserFactory;
 import pink.catty.core.support.worker.HashableExecutor;
 import pink.catty.core.support.worker.StandardThreadExecutor;
+import pink.catty.core.support.worker.VirtualThreadExecutor;
 
 public abstract class AbstractServer extends AbstractEndpoint implements Server {
 
@@ -39,6 +48,21 @@ public abstract class AbstractServer extends AbstractEndpoint implements Server
   private ExecutorService executor;
   private volatile Map<String, Provider> invokerMap = new ConcurrentHashMap<>();
 
+  /*
+   * Providers indexed by serviceId - 1. A service keeps its id after being unregistered, so a
+   * client caching the id would reach the provider again if the service is registered again.
+   */
+  private final Map<String, Integer> serviceIds = new ConcurrentHashMap<>();
+  private volatile Provider[] providers = new Provider[0];
+
+  /*
+   * In-flight counters of services and methods which have maxInflight limit, keyed by ServiceModel
+   * or MethodModel.
+   */
+  private final Map<Object, AtomicInteger> inflightCounters = new ConcurrentHashMap<>();
+  private final LongAdder rejectedCount = new LongAdder();
+  private final LongAdder expiredCount = new LongAdder();
+
   public AbstractServer(ServerMeta serverMeta, Codec codec) {
     super(codec);
     this.serverMeta = serverMeta;
@@ -46,17 +70,31 @@ public abstract class AbstractServer extends AbstractEndpoint implements Server
   }
 
   @Override
-  public void setInvokerMap(Map<String, Provider> invokerMap) {
+  public synchronized void setInvokerMap(Map<String, Provider> invokerMap) {
     this.invokerMap = invokerMap;
+    invokerMap.keySet().forEach(name -> serviceIds.computeIfAbsent(name, k -> serviceIds.size() + 1));
+    Provider[] table = new Provider[serviceIds.size()];
+    invokerMap.forEach((name, provider) -> table[serviceIds.get(name) - 1] = provider);
+    this.providers = table;
   }
 
   @Override
-  public void registerInvoker(String serviceIdentify, Provider provider) {
+  public synchronized void registerInvoker(String serviceIdentify, Provider provider) {
     invokerMap.put(serviceIdentify, provider);
+    int id = serviceIds.computeIfAbsent(serviceIdentify, k -> serviceIds.size() + 1);
+    Provider[] table = Arrays.copyOf(providers, Math.max(providers.length, id));
+    table[id - 1] = provider;
+    this.providers = table;
   }
 
   @Override
-  public Provider unregisterInvoker(String serviceIdentify) {
+  public synchronized Provider unregisterInvoker(String serviceIdentify) {
+    Integer id = serviceIds.get(serviceIdentify);
+    if (id != null && id <= providers.length) {
+      Provider[] table = providers.clone();
+      table[id - 1] = null;
+      this.providers = table;
+    }
     return invokerMap.remove(serviceIdentify);
   }
 
@@ -72,12 +110,17 @@ public abstract class AbstractServer extends AbstractEndpoint implements Server
 
   @Override
   public Response invoke(Request request, Invocation invocation) {
-    String serviceName = request.getInterfaceName();
-    Provider provider = getInvoker(serviceName);
+    Provider provider = getProvider(request);
     if (provider == null) {
-      throw new CattyException(
-          "No such provider found! RpcService name: " + request.getInterfaceName());
+      if (invocation != null) {
+        // unregistered after its permits were taken.
+        releaseInflight(invocation);
+      }
+      throw new CattyException(request.getServiceId() > 0
+          ? "No such provider found! RpcService id: " + request.getServiceId()
+          : "No such provider found! RpcService name: " + request.getInterfaceName());
     }
+    MethodModel methodModel = getMethodModel(provider, request);
 
     if (invocation == null) {
       invocation = new Invocation();
@@ -85,14 +128,193 @@ public abstract class AbstractServer extends AbstractEndpoint implements Server
     ServiceModel serviceModel = provider
         .getMeta()
         .getServiceModel();
-    MethodModel methodModel = provider
-        .getMeta()
-        .getServiceModel()
-        .getMethodMetaByName(request.getMethodName());
     invocation.setTarget(serviceModel.getTarget());
     invocation.setServiceModel(serviceModel);
     invocation.setInvokedMethod(methodModel);
-    return provider.invoke(request, invocation);
+
+    Response response = dispatch(provider, request, invocation);
+    if (request.getServiceId() <= 0 && methodModel != null) {
+      // tell the client the ids, so that it could send ids instead of names next time.
+      Integer serviceId = serviceIds.get(request.getInterfaceName());
+      if (serviceId != null) {
+        response.setServiceId(serviceId);
+        response.setMethodId(methodModel.getIndex() + 1);
+      }
+    }
+    return response;
+  }
+
+  /**
+   * Get the method a request invokes, null if the service or the method is not found.
+   */
+  public MethodModel getMethodModel(Request request) {
+    Provider provider = getProvider(request);
+    return provider == null ? null : getMethodModel(provider, request);
+  }
+
+  /**
+   * Take the in-flight permits of the service and the method a request invokes. It is called before
+   * the request is queued, so that requests over the limit are replied busy at once instead of
+   * after waiting in the queue. Returns a busy response if a limit is reached, null otherwise.
+   *
+   * Permits are released when the response of the request completes, or by {@link
+   * #releaseInflight(Invocation)} if the request is not executed.
+   */
+  public Response acquireInflight(Request request, Invocation invocation) {
+    Provider provider = getProvider(request);
+    if (provider == null) {
+      // invoke() reports it.
+      return null;
+    }
+    return acquireInflight(request, invocation, provider.getMeta().getServiceModel(),
+        getMethodModel(provider, request));
+  }
+
+  /**
+   * Release the in-flight permits taken for the invocation, if any.
+   */
+  public void releaseInflight(Invocation invocation) {
+    if (!invocation.isInflightAcquired()) {
+      return;
+    }
+    invocation.setInflightAcquired(false);
+    MethodModel methodModel = invocation.getInvokedMethod();
+    release(methodModel, methodModel == null ? -1 : methodModel.getMaxInflight());
+    release(invocation.getServiceModel(), invocation.getServiceModel().getMaxInflight());
+  }
+
+  private Response acquireInflight(Request request, Invocation invocation,
+      ServiceModel serviceModel, MethodModel methodModel) {
+    int serviceLimit = serviceModel.getMaxInflight();
+    int methodLimit = methodModel == null ? -1 : methodModel.getMaxInflight();
+    if (serviceLimit <= 0 && methodLimit <= 0) {
+      return null;
+    }
+    if (!tryAcquire(serviceModel, serviceLimit)) {
+      return reject(request, "Too many in-flight requests of service: "
+          + serviceModel.getServiceName());
+    }
+    if (!tryAcquire(methodModel, methodLimit)) {
+      release(serviceModel, serviceLimit);
+      return reject(request, "Too many in-flight requests of method: " + methodModel.getName());
+    }
+    invocation.setServiceModel(serviceModel);
+    invocation.setInvokedMethod(methodModel);
+    invocation.setInflightAcquired(true);
+    return null;
+  }
+
+  private Provider getProvider(Request request) {
+    return request.getServiceId() > 0 ? getInvoker(request.getServiceId())
+        : getInvoker(request.getInterfaceName());
+  }
+
+  private static MethodModel getMethodModel(Provider provider, Request request) {
+    ServiceModel serviceModel = provider.getMeta().getServiceModel();
+    return request.getServiceId() > 0 ? getMethodModel(serviceModel, request.getMethodId())
+        : serviceModel.getMethodMetaByName(request.getMethodName());
+  }
+
+  /**
+   * Get provider by the id assigned when it was registered, null if not found.
+   */
+  public Provider getInvoker(int serviceId) {
+    Provider[] table = providers;
+    return serviceId > 0 && serviceId <= table.length ? table[serviceId - 1] : null;
+  }
+
+  private static MethodModel getMethodModel(ServiceModel serviceModel, int methodId) {
+    List<MethodModel> methodModels = serviceModel.getMethodModels();
+    return methodId > 0 && methodId <= methodModels.size() ? methodModels.get(methodId - 1) : null;
+  }
+
+  private Response dispatch(Provider provider, Request request, Invocation invocation) {
+    if (request.getTimeout() > 0 && invocation.getArrivalTime() > 0) {
+      invocation.setDeadline(invocation.getArrivalTime()
+          + TimeUnit.MILLISECONDS.toNanos(request.getTimeout()));
+    }
+    if (invocation.getDeadline() != 0 && System.nanoTime() - invocation.getDeadline() > 0) {
+      // the caller has given up, skip it and reply nothing.
+      releaseInflight(invocation);
+      expiredCount.increment();
+      Response response = new DefaultResponse(request.getRequestId());
+      response.setValue(null);
+      return response;
+    }
+    if (isQueueTimeout(invocation)) {
+      releaseInflight(invocation);
+      return reject(request, "Request waited in queue longer than "
+          + serverMeta.getMaxQueueTime() + "ms");
+    }
+    if (!invocation.isInflightAcquired()) {
+      // not acquired before queueing, such as invoked directly.
+      Response busy = acquireInflight(request, invocation, invocation.getServiceModel(),
+          invocation.getInvokedMethod());
+      if (busy != null) {
+        return busy;
+      }
+    }
+    if (!invocation.isInflightAcquired()) {
+      return provider.invoke(request, invocation);
+    }
+
+    Response response;
+    try {
+      response = provider.invoke(request, invocation);
+    } catch (RuntimeException e) {
+      releaseInflight(invocation);
+      throw e;
+    }
+    response.whenComplete((v, t) -> releaseInflight(invocation));
+    return response;
+  }
+
+  /**
+   * Return a response telling the client this server is busy, the request will not be executed.
+   */
+  public Response reject(Request request, String reason) {
+    rejectedCount.increment();
+    Response response = new DefaultResponse(request.getRequestId());
+    response.setValue(new ServerBusyException(reason));
+    return response;
+  }
+
+  /**
+   * Number of requests rejected because of overload.
+   */
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  /**
+   * Number of requests skipped because their deadline had passed before execution.
+   */
+  public long getExpiredCount() {
+    return expiredCount.sum();
+  }
+
+  private boolean isQueueTimeout(Invocation invocation) {
+    return serverMeta.getMaxQueueTime() > 0 && invocation.getArrivalTime() > 0
+        && System.nanoTime() - invocation.getArrivalTime()
+        > TimeUnit.MILLISECONDS.toNanos(serverMeta.getMaxQueueTime());
+  }
+
+  private boolean tryAcquire(Object model, int limit) {
+    if (limit <= 0) {
+      return true;
+    }
+    AtomicInteger counter = inflightCounters.computeIfAbsent(model, k -> new AtomicInteger());
+    if (counter.incrementAndGet() > limit) {
+      counter.decrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  private void release(Object model, int limit) {
+    if (limit > 0) {
+      inflightCounters.get(model).decrementAndGet();
+    }
   }
 
   @Override
@@ -100,6 +322,37 @@ public abstract class AbstractServer extends AbstractEndpoint implements Server
     return executor;
   }
 
+  /**
+   * Hash deciding the executing order of a request when {@link ServerMeta#isNeedOrder()} is set:
+   * the hash of the serialized {@link pink.catty.core.service.OrderKey} argument, or
+   * connectionHash if the method has no OrderKey.
+   */
+  public static int getOrderHash(Request request, MethodModel methodModel, int connectionHash) {
+    int keyIndex = methodModel == null ? -1 : methodModel.getOrderKeyIndex();
+    Object[] args = request.getArgsValue();
+    if (keyIndex < 0 || args == null || keyIndex >= args.length) {
+      return connectionHash;
+    }
+    Object key = Payload.serialized(args[keyIndex]);
+    int hash = key instanceof byte[] ? Arrays.hashCode((byte[]) key) : Objects.hashCode(key);
+    // choosers take the low bits.
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Execute a task by the executor, tasks with the same hash are executed by submitting order if
+   * {@link ServerMeta#isNeedOrder()} is set.
+   */
+  public void execute(int hash, Runnable task) {
+    if (!serverMeta.isNeedOrder()) {
+      executor.submit(task);
+    } else if (executor instanceof VirtualThreadExecutor) {
+      ((VirtualThreadExecutor) executor).submit(hash, task);
+    } else {
+      ((HashableExecutor) executor).submit(hash, task);
+    }
+  }
+
   @Override
   public void close() {
     super.close();
@@ -115,10 +368,13 @@ public abstract class AbstractServer extends AbstractEndpoint implements Server
   protected abstract void doClose();
 
   private void createExecutor() {
-    if (serverMeta.isNeedOrder()) {
+    if (serverMeta.isVirtualThread()) {
+      executor = new VirtualThreadExecutor(serverMeta.getMaxVirtualThreads());
+    } else if (serverMeta.isNeedOrder()) {
       int workerNum = serverMeta.getWorkerThreadNum() > 0 ? serverMeta.getWorkerThreadNum() :
           Constants.THREAD_NUMBER * 2;
-      executor = new HashLoopGroup(workerNum, HashableChooserFactory.INSTANCE);
+      executor = new HashLoopGroup(workerNum, HashableChooserFactory.INSTANCE,
+          serverMeta.getOrderedQueueCapacity());
     } else {
       int minWorkerNum = serverMeta.getMinWorkerThreadNum() > 0 ? serverMeta.getMinWorkerThreadNum() :
           Constants.THREAD_NUMBER * 2;
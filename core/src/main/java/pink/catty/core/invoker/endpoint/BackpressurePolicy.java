@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.invoker.endpoint;
+
+/**
+ * What a client does when it is overloaded, which means the number of requests waiting for
+ * response reaches maxPendingRequests, or the channel is not writable because of too many bytes
+ * waiting for writing.
+ */
+public interface BackpressurePolicy {
+
+  /**
+   * Block the caller until the client is not overloaded, or throw {@link
+   * pink.catty.core.EndpointOverloadException} after the request's timeout.
+   */
+  String BLOCK = "block";
+
+  /**
+   * Throw {@link pink.catty.core.EndpointOverloadException} immediately.
+   */
+  String FAIL_FAST = "fail_fast";
+
+  /**
+   * Throw {@link pink.catty.core.EndpointOverloadException}, and the invocation will be sent by
+   * another connection of the pool or another provider of the cluster.
+   */
+  String SPILL_OVER = "spill_over";
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.invoker.endpoint;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+import pink.catty.core.EndpointIllegalStateException;
+import pink.catty.core.EndpointOverloadException;
+import pink.catty.core.extension.spi.Codec;
+import pink.catty.core.invoker.Invocation;
+import pink.catty.core.invoker.frame.Request;
+import pink.catty.core.invoker.frame.Response;
+import pink.catty.core.meta.ClientMeta;
+
+/**
+ * Several connections to one server address. Connections are created lazily, the first one is
+ * created when the pool opens, others are created when they are selected for the first time.
+ *
+ * There are two strategies to select a connection:
+ *
+ * {@link #ROUND_ROBIN}: select connections in turn.
+ *
+ * {@link #LEAST_PENDING}: select the connection with the least requests waiting for response, a new
+ * connection is created only if every created connection is busy.
+ */
+public class ClientPool extends AbstractEndpoint implements Client {
+
+  public static final String ROUND_ROBIN = "round_robin";
+  public static final String LEAST_PENDING = "least_pending";
+
+  private final ClientMeta clientMeta;
+  private final Supplier<Client> clientSupplier;
+  private final boolean leastPending;
+  private final AtomicReferenceArray<Client> clients;
+  private final AtomicInteger index = new AtomicInteger();
+
+  public ClientPool(ClientMeta clientMeta, Codec codec, Supplier<Client> clientSupplier) {
+    super(codec);
+    if (clientMeta.getConnectionNum() <= 0) {
+      throw new IllegalArgumentException("ConnectionNum must be greater than 0");
+    }
+    this.clientMeta = clientMeta;
+    this.clientSupplier = clientSupplier;
+    this.leastPending = LEAST_PENDING.equals(clientMeta.getConnectionSelector());
+    this.clients = new AtomicReferenceArray<>(clientMeta.getConnectionNum());
+  }
+
+  @Override
+  public Response invoke(Request request, Invocation invocation) {
+    Client client = select();
+    try {
+      return client.invoke(request, invocation);
+    } catch (EndpointOverloadException e) {
+      if (!BackpressurePolicy.SPILL_OVER.equals(clientMeta.getBackpressurePolicy())) {
+        throw e;
+      }
+      return spillOver(client, request, invocation, e);
+    }
+  }
+
+  /**
+   * Try other created connections, throw the origin exception if all of them are overloaded.
+   */
+  private Response spillOver(Client overloaded, Request request, Invocation invocation,
+      EndpointOverloadException e) {
+    for (int i = 0; i < clients.length(); i++) {
+      Client client = clients.get(i);
+      if (client == null) {
+        client = getOrCreate(i);
+      }
+      if (client == overloaded || !client.isAvailable()) {
+        continue;
+      }
+      try {
+        return client.invoke(request, invocation);
+      } catch (EndpointOverloadException ignore) {
+        // try next.
+      }
+    }
+    throw e;
+  }
+
+  /**
+   * Number of requests waiting for response of the connection.
+   */
+  public static int getPendingCount(Client client) {
+    if (client instanceof AbstractClient) {
+      return ((AbstractClient) client).getCurrentTask().size();
+    }
+    return 0;
+  }
+
+  public int getConnectionNum() {
+    return clients.length();
+  }
+
+  /**
+   * Get the i-th connection, null if it has not been created.
+   */
+  public Client getConnection(int i) {
+    return clients.get(i);
+  }
+
+  private Client select() {
+    int size = clients.length();
+    if (!leastPending) {
+      int i = (index.getAndIncrement() & Integer.MAX_VALUE) % size;
+      return getOrCreate(i);
+    }
+    Client selected = null;
+    int minPending = Integer.MAX_VALUE;
+    for (int i = 0; i < size; i++) {
+      Client client = clients.get(i);
+      if (client == null || client.isClosed()) {
+        if (minPending > 0) {
+          return getOrCreate(i);
+        }
+        continue;
+      }
+      if (!client.isAvailable()) {
+        continue;
+      }
+      int pending = getPendingCount(client);
+      if (pending < minPending) {
+        minPending = pending;
+        selected = client;
+      }
+    }
+    return selected != null ? selected : getOrCreate(0);
+  }
+
+  private Client getOrCreate(int i) {
+    Client client = clients.get(i);
+    if (client != null && !client.isClosed()) {
+      return client;
+    }
+    synchronized (this) {
+      client = clients.get(i);
+      if (client == null || client.isClosed()) {
+        if (isClosed()) {
+          throw new EndpointIllegalStateException("ClientPool has been closed, config: "
+              + clientMeta.toString());
+        }
+        client = clientSupplier.get();
+        client.open();
+        clients.set(i, client);
+      }
+      return client;
+    }
+  }
+
+  @Override
+  public ClientMeta getMeta() {
+    return clientMeta;
+  }
+
+  @Override
+  public Executor getExecutor() {
+    return null;
+  }
+
+  @Override
+  public boolean isAvailable() {
+    if (!super.isAvailable()) {
+      return false;
+    }
+    for (int i = 0; i < clients.length(); i++) {
+      Client client = clients.get(i);
+      if (client != null && client.isAvailable()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  protected void doOpen() {
+    getOrCreate(0);
+  }
+
+  @Override
+  protected synchronized void doClose() {
+    for (int i = 0; i < clients.length(); i++) {
+      Client client = clients.getAndSet(i, null);
+      if (client != null && !client.isClosed()) {
+        client.close();
+      }
+    }
+  }
+}
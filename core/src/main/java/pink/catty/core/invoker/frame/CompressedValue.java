@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.invoker.frame;
+
+/**
+ * Serialized return value compressed by the {@link pink.catty.core.extension.spi.Compression}
+ * named compressionType. Codec sends it with the compression type, so the client knows how to
+ * decompress it.
+ */
+public final class CompressedValue {
+
+  private final String compressionType;
+  private final byte[] bytes;
+
+  public CompressedValue(String compressionType, byte[] bytes) {
+    this.compressionType = compressionType;
+    this.bytes = bytes;
+  }
+
+  public String getCompressionType() {
+    return compressionType;
+  }
+
+  public byte[] getBytes() {
+    return bytes;
+  }
+}
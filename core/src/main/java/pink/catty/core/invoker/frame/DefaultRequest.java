@@ -20,6 +20,10 @@ public class DefaultRequest implements Request {
   private String interfaceName;
   private String methodName;
   private Object[] args;
+  private int timeout;
+  private int serviceId;
+  private int methodId;
+  private boolean acceptCompression;
 
   public DefaultRequest() {
   }
@@ -72,12 +76,56 @@ public class DefaultRequest implements Request {
     this.args = argsValue;
   }
 
+  @Override
+  public int getTimeout() {
+    return timeout;
+  }
+
+  @Override
+  public void setTimeout(int timeout) {
+    this.timeout = timeout;
+  }
+
+  @Override
+  public int getServiceId() {
+    return serviceId;
+  }
+
+  @Override
+  public void setServiceId(int serviceId) {
+    this.serviceId = serviceId;
+  }
+
+  @Override
+  public int getMethodId() {
+    return methodId;
+  }
+
+  @Override
+  public void setMethodId(int methodId) {
+    this.methodId = methodId;
+  }
+
+  @Override
+  public boolean isAcceptCompression() {
+    return acceptCompression;
+  }
+
+  @Override
+  public void setAcceptCompression(boolean acceptCompression) {
+    this.acceptCompression = acceptCompression;
+  }
+
   @Override
   public String toString() {
     return "DefaultRequest{" +
         "requestId=" + requestId +
         ", interfaceName='" + interfaceName + '\'' +
         ", methodName='" + methodName + '\'' +
+        ", timeout=" + timeout +
+        ", serviceId=" + serviceId +
+        ", methodId=" + methodId +
+        ", acceptCompression=" + acceptCompression +
         '}';
   }
 }
@@ -24,6 +24,8 @@ public class DefaultResponse extends CompletableFuture<Object> implements Respon
 
   private long requestId;
   private Object value;
+  private int serviceId;
+  private int methodId;
 
   public DefaultResponse(long requestId) {
     this.requestId = requestId;
@@ -50,6 +52,26 @@ public class DefaultResponse extends CompletableFuture<Object> implements Respon
     }
   }
 
+  @Override
+  public int getServiceId() {
+    return serviceId;
+  }
+
+  @Override
+  public void setServiceId(int serviceId) {
+    this.serviceId = serviceId;
+  }
+
+  @Override
+  public int getMethodId() {
+    return methodId;
+  }
+
+  @Override
+  public void setMethodId(int methodId) {
+    this.methodId = methodId;
+  }
+
   @Override
   public void await() throws InterruptedException, ExecutionException {
     get();
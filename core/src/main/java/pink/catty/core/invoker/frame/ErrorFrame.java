@@ -0,0 +1,33 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.invoker.frame;
+
+/**
+ * Exception thrown by the invoked method, written by {@link
+ * pink.catty.core.utils.ExceptionUtils#writeException}. Codec sends it with an error status instead
+ * of the serialized return value.
+ */
+public final class ErrorFrame {
+
+  private final byte[] bytes;
+
+  public ErrorFrame(byte[] bytes) {
+    this.bytes = bytes;
+  }
+
+  public byte[] getBytes() {
+    return bytes;
+  }
+}
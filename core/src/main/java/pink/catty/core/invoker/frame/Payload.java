@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.invoker.frame;
+
+import java.io.OutputStream;
+import pink.catty.core.extension.spi.Serialization;
+
+/**
+ * An argument which has not been serialized yet. It is serialized by the codec straight into the
+ * outbound frame, or into a byte array if the codec is not able to do so.
+ */
+public final class Payload {
+
+  private final Serialization serialization;
+  private final Object value;
+
+  public Payload(Serialization serialization, Object value) {
+    this.serialization = serialization;
+    this.value = value;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  public void writeTo(OutputStream out) {
+    serialization.serialize(value, out);
+  }
+
+  public byte[] toByteArray() {
+    return serialization.serialize(value);
+  }
+
+  /**
+   * Serialized bytes of the argument, payloads are serialized, others are returned as they are.
+   */
+  public static Object serialized(Object arg) {
+    return arg instanceof Payload ? ((Payload) arg).toByteArray() : arg;
+  }
+}
@@ -32,4 +32,33 @@ public interface Request {
 
   void setArgsValue(Object[] argsValue);
 
+  /**
+   * Milliseconds the caller will wait for the response, 0 if unknown.
+   */
+  int getTimeout();
+
+  void setTimeout(int timeout);
+
+  /**
+   * Id of the service assigned by the server, 0 if unknown.
+   */
+  int getServiceId();
+
+  void setServiceId(int serviceId);
+
+  /**
+   * Id of the method assigned by the server, 0 if unknown.
+   */
+  int getMethodId();
+
+  void setMethodId(int methodId);
+
+  /**
+   * If the caller is able to decompress the return value, the server compresses large return
+   * values only if it is true.
+   */
+  boolean isAcceptCompression();
+
+  void setAcceptCompression(boolean acceptCompression);
+
 }
@@ -28,6 +28,20 @@ public interface Response extends CompletionStage<Object>, Future<Object> {
 
   void setValue(Object value);
 
+  /**
+   * Id of the invoked service assigned by the server, 0 if unknown.
+   */
+  int getServiceId();
+
+  void setServiceId(int serviceId);
+
+  /**
+   * Id of the invoked method assigned by the server, 0 if unknown.
+   */
+  int getMethodId();
+
+  void setMethodId(int methodId);
+
   void await() throws InterruptedException, ExecutionException;
 
   void await(long timeout, TimeUnit unit)
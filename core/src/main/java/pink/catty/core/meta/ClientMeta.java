@@ -17,6 +17,12 @@ package pink.catty.core.meta;
 public class ClientMeta extends EndpointMeta {
 
   private int timeout;
+  private int connectionNum = 1;
+  private String connectionSelector;
+  private int maxPendingRequests;
+  private String backpressurePolicy;
+  private int writeBufferLowWaterMark;
+  private int writeBufferHighWaterMark;
 
   public ClientMeta() {
     super(MetaType.CLIENT);
@@ -33,4 +39,52 @@ public class ClientMeta extends EndpointMeta {
   public void setTimeout(int timeout) {
     this.timeout = timeout;
   }
+
+  public int getConnectionNum() {
+    return connectionNum;
+  }
+
+  public void setConnectionNum(int connectionNum) {
+    this.connectionNum = connectionNum;
+  }
+
+  public String getConnectionSelector() {
+    return connectionSelector;
+  }
+
+  public void setConnectionSelector(String connectionSelector) {
+    this.connectionSelector = connectionSelector;
+  }
+
+  public int getMaxPendingRequests() {
+    return maxPendingRequests;
+  }
+
+  public void setMaxPendingRequests(int maxPendingRequests) {
+    this.maxPendingRequests = maxPendingRequests;
+  }
+
+  public String getBackpressurePolicy() {
+    return backpressurePolicy;
+  }
+
+  public void setBackpressurePolicy(String backpressurePolicy) {
+    this.backpressurePolicy = backpressurePolicy;
+  }
+
+  public int getWriteBufferLowWaterMark() {
+    return writeBufferLowWaterMark;
+  }
+
+  public void setWriteBufferLowWaterMark(int writeBufferLowWaterMark) {
+    this.writeBufferLowWaterMark = writeBufferLowWaterMark;
+  }
+
+  public int getWriteBufferHighWaterMark() {
+    return writeBufferHighWaterMark;
+  }
+
+  public void setWriteBufferHighWaterMark(int writeBufferHighWaterMark) {
+    this.writeBufferHighWaterMark = writeBufferHighWaterMark;
+  }
 }
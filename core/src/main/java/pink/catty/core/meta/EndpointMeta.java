@@ -23,6 +23,10 @@ public class EndpointMeta extends MetaInfo {
   private int remotePort;
   private String localIp;
   private int localPort;
+  private boolean writeCoalescing;
+  private int writeBatchSize;
+  private int writeBatchBytes;
+  private boolean tcpQuickAck;
 
   public EndpointMeta() {
     super(MetaType.ENDPOINT);
@@ -87,4 +91,36 @@ public class EndpointMeta extends MetaInfo {
   public void setEndpoint(String endpoint) {
     this.endpoint = endpoint;
   }
+
+  public boolean isWriteCoalescing() {
+    return writeCoalescing;
+  }
+
+  public void setWriteCoalescing(boolean writeCoalescing) {
+    this.writeCoalescing = writeCoalescing;
+  }
+
+  public int getWriteBatchSize() {
+    return writeBatchSize;
+  }
+
+  public void setWriteBatchSize(int writeBatchSize) {
+    this.writeBatchSize = writeBatchSize;
+  }
+
+  public int getWriteBatchBytes() {
+    return writeBatchBytes;
+  }
+
+  public void setWriteBatchBytes(int writeBatchBytes) {
+    this.writeBatchBytes = writeBatchBytes;
+  }
+
+  public boolean isTcpQuickAck() {
+    return tcpQuickAck;
+  }
+
+  public void setTcpQuickAck(boolean tcpQuickAck) {
+    this.tcpQuickAck = tcpQuickAck;
+  }
 }
@@ -22,6 +22,9 @@ public class ProviderMeta extends ServerMeta {
   private String group;
   private String serviceName;
   private transient ServiceModel serviceModel;
+  private String compression;
+  private boolean compressionEnabled;
+  private int compressionThreshold;
 
   public ProviderMeta() {
     super(MetaType.PROVIDER);
@@ -63,4 +66,28 @@ public class ProviderMeta extends ServerMeta {
     this.serviceModel = serviceModel;
   }
 
+  public String getCompression() {
+    return compression;
+  }
+
+  public void setCompression(String compression) {
+    this.compression = compression;
+  }
+
+  public boolean isCompressionEnabled() {
+    return compressionEnabled;
+  }
+
+  public void setCompressionEnabled(boolean compressionEnabled) {
+    this.compressionEnabled = compressionEnabled;
+  }
+
+  public int getCompressionThreshold() {
+    return compressionThreshold;
+  }
+
+  public void setCompressionThreshold(int compressionThreshold) {
+    this.compressionThreshold = compressionThreshold;
+  }
+
 }
@@ -20,6 +20,11 @@ public class ServerMeta extends EndpointMeta {
   private int minWorkerThreadNum;
   private int maxWorkerThreadNum;
   private boolean needOrder;
+  private int acceptorNum;
+  private int maxQueueTime;
+  private boolean virtualThread;
+  private int maxVirtualThreads;
+  private int orderedQueueCapacity;
 
   public ServerMeta() {
     super(MetaType.SERVER);
@@ -60,4 +65,44 @@ public class ServerMeta extends EndpointMeta {
   public void setNeedOrder(boolean needOrder) {
     this.needOrder = needOrder;
   }
+
+  public int getAcceptorNum() {
+    return acceptorNum;
+  }
+
+  public void setAcceptorNum(int acceptorNum) {
+    this.acceptorNum = acceptorNum;
+  }
+
+  public int getMaxQueueTime() {
+    return maxQueueTime;
+  }
+
+  public void setMaxQueueTime(int maxQueueTime) {
+    this.maxQueueTime = maxQueueTime;
+  }
+
+  public boolean isVirtualThread() {
+    return virtualThread;
+  }
+
+  public void setVirtualThread(boolean virtualThread) {
+    this.virtualThread = virtualThread;
+  }
+
+  public int getMaxVirtualThreads() {
+    return maxVirtualThreads;
+  }
+
+  public void setMaxVirtualThreads(int maxVirtualThreads) {
+    this.maxVirtualThreads = maxVirtualThreads;
+  }
+
+  public int getOrderedQueueCapacity() {
+    return orderedQueueCapacity;
+  }
+
+  public void setOrderedQueueCapacity(int orderedQueueCapacity) {
+    this.orderedQueueCapacity = orderedQueueCapacity;
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.service;
+
+/**
+ * Where a server executes requests of a method.
+ *
+ * @see RpcService#executeOn()
+ * @see RpcMethod#executeOn()
+ */
+public enum ExecuteOn {
+
+  /**
+   * Follow the setting of the service, only for methods.
+   */
+  DEFAULT,
+
+  /**
+   * Requests are handed off to the server's executor.
+   */
+  WORKER,
+
+  /**
+   * Requests are deserialized, executed and replied inline by the IO thread which read them, which
+   * saves a queue hop and a thread wake-up. Only for methods which never block, such as in-memory
+   * lookups or methods returning CompletionStage, because the IO thread serves every connection
+   * bound to it. Requests of these methods are neither ordered with requests executed by workers
+   * nor limited by the server's executor.
+   */
+  IO
+
+}
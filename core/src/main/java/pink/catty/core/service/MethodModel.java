@@ -14,6 +14,7 @@
  */
 package pink.catty.core.service;
 
+import java.lang.annotation.Annotation;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
@@ -37,6 +38,12 @@ public class MethodModel {
 
   private Map<String, Class<?>> checkedExceptions;
 
+  /**
+   * Declared exception types in declaration order, which is the same at both sides, so an
+   * exception is able to be sent by its position instead of its class name.
+   */
+  private Class<?>[] exceptionTypes;
+
   /**
    * If CompletionStage is super-interface of return type, this method is treated as an async
    * method.
@@ -72,6 +79,21 @@ public class MethodModel {
 
   private boolean needReturn = true;
 
+  private int maxInflight = -1; /* -1 means no limit */
+
+  private boolean sendStackTrace = false;
+
+  private boolean compress = false;
+
+  private ExecuteOn executeOn = ExecuteOn.DEFAULT;
+
+  private int orderKeyIndex = -1; /* -1 means ordered by connection */
+
+  /**
+   * Position of this method in ServiceModel#getMethodModels().
+   */
+  private int index;
+
   public static MethodModel parse(Method method) {
     return new MethodModel(method);
   }
@@ -80,7 +102,8 @@ public class MethodModel {
     this.method = method;
     this.name = ReflectUtils.getMethodSign(method);
     this.checkedExceptions = new HashMap<>();
-    Arrays.stream(method.getExceptionTypes())
+    this.exceptionTypes = method.getExceptionTypes();
+    Arrays.stream(exceptionTypes)
         .forEach(aClass -> checkedExceptions.put(aClass.getName(), aClass));
     this.returnType = method.getReturnType();
 
@@ -102,13 +125,41 @@ public class MethodModel {
         alias = new ArrayList<>(Arrays.asList(function.alias()));
       }
       this.needReturn = function.needReturn();
+      this.maxInflight = function.maxInflight();
+      this.sendStackTrace = function.sendStackTrace();
+      this.compress = function.compress();
+      this.executeOn = function.executeOn();
     }
+    resolveOrderKey(method);
   }
 
   public Class<?> getCheckedExceptionByName(String className) {
     return checkedExceptions.get(className);
   }
 
+  /**
+   * Id of a declared exception type, which is its position plus 1. 0 means the class is not
+   * declared.
+   */
+  public int getExceptionId(Class<?> exceptionClass) {
+    for (int i = 0; i < exceptionTypes.length; i++) {
+      if (exceptionTypes[i] == exceptionClass) {
+        return i + 1;
+      }
+    }
+    return 0;
+  }
+
+  /**
+   * Declared exception type of the id, or null if the id is unknown.
+   */
+  public Class<?> getExceptionById(int exceptionId) {
+    if (exceptionId <= 0 || exceptionId > exceptionTypes.length) {
+      return null;
+    }
+    return exceptionTypes[exceptionId - 1];
+  }
+
   public Method getMethod() {
     return method;
   }
@@ -149,6 +200,55 @@ public class MethodModel {
     return needReturn;
   }
 
+  public int getMaxInflight() {
+    return maxInflight;
+  }
+
+  public boolean isSendStackTrace() {
+    return sendStackTrace;
+  }
+
+  public boolean isCompress() {
+    return compress;
+  }
+
+  public ExecuteOn getExecuteOn() {
+    return executeOn;
+  }
+
+  void setExecuteOn(ExecuteOn executeOn) {
+    this.executeOn = executeOn;
+  }
+
+  /**
+   * Position of the argument annotated by {@link OrderKey}, -1 if there is not.
+   */
+  public int getOrderKeyIndex() {
+    return orderKeyIndex;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  void setIndex(int index) {
+    this.index = index;
+  }
+
+  private void resolveOrderKey(Method method) {
+    Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+    for (int i = 0; i < parameterAnnotations.length; i++) {
+      for (Annotation annotation : parameterAnnotations[i]) {
+        if (annotation instanceof OrderKey) {
+          if (orderKeyIndex >= 0) {
+            throw new NotSupportedMethodException("More than one OrderKey found: " + method);
+          }
+          orderKeyIndex = i;
+        }
+      }
+    }
+  }
+
   private void resolveReturnTypes(Method method) {
     Class<?> returnType = method.getReturnType();
     Type genericReturnType = method.getGenericReturnType();
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.service;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Mark the argument deciding the executing order of a method when the server keeps order. Requests
+ * with equal keys are executed one by one by receiving order whichever connection they come from,
+ * requests of methods without OrderKey are ordered by connection.
+ *
+ * Keys are hashed by their serialized bytes, so equal keys must be serialized into equal bytes,
+ * which holds for primitives and strings. Only one argument of a method could be the key.
+ *
+ * @see pink.catty.core.meta.ServerMeta#isNeedOrder()
+ */
+@Target({PARAMETER})
+@Retention(RUNTIME)
+@Documented
+public @interface OrderKey {
+
+}
@@ -82,4 +82,31 @@ public @interface RpcMethod {
    */
   boolean needReturn() default true;
 
+  /**
+   * Max requests of this method executing or queued in the executor of one server, requests
+   * exceeding the limit are rejected with {@link pink.catty.core.ServerBusyException} as soon as
+   * they arrive, without being queued. -1 means no limit.
+   */
+  int maxInflight() default -1;
+
+  /**
+   * If stack trace of exceptions thrown by this method is sent to the client. If false, only the
+   * exception type and message are sent, which is much cheaper when exceptions are used as normal
+   * results.
+   */
+  boolean sendStackTrace() default false;
+
+  /**
+   * If return values of this method larger than the compression threshold are compressed, even
+   * though compression is not enabled for the whole service.
+   *
+   * @see pink.catty.core.extension.spi.Compression
+   */
+  boolean compress() default false;
+
+  /**
+   * Where requests of this method are executed, the service's setting if DEFAULT.
+   */
+  ExecuteOn executeOn() default ExecuteOn.DEFAULT;
+
 }
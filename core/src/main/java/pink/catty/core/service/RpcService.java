@@ -56,4 +56,18 @@ public @interface RpcService {
    */
   int timeout() default -1;
 
+  /**
+   * Max requests of this service executing or queued in the executor of one server, requests
+   * exceeding the limit are rejected with {@link pink.catty.core.ServerBusyException} as soon as
+   * they arrive, without being queued. -1 means no limit.
+   */
+  int maxInflight() default -1;
+
+  /**
+   * Where requests of methods in this service are executed. Each method could be set it's own.
+   *
+   * @see RpcMethod#executeOn()
+   */
+  ExecuteOn executeOn() default ExecuteOn.WORKER;
+
 }
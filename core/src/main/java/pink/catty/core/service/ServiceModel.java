@@ -15,6 +15,9 @@
 package pink.catty.core.service;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -39,6 +42,8 @@ public class ServiceModel<T> {
 
   private Map<Method, MethodModel> methodMetaMap;
 
+  private List<MethodModel> methodModels;
+
   private String version = "";
 
   private String group = "";
@@ -47,6 +52,10 @@ public class ServiceModel<T> {
 
   private int timeout = -1;
 
+  private int maxInflight = -1;
+
+  private ExecuteOn executeOn = ExecuteOn.WORKER;
+
   public static <T> ServiceModel<T> parse(Class<T> interfaceClass) {
     return new ServiceModel<>(interfaceClass);
   }
@@ -57,6 +66,7 @@ public class ServiceModel<T> {
     this.methodMap = new HashMap<>();
     this.validMethod = new HashSet<>();
     this.methodMetaMap = new HashMap<>();
+    this.methodModels = new ArrayList<>();
 
     /*
      * add all valid object declaring method.
@@ -64,8 +74,12 @@ public class ServiceModel<T> {
     validMethod.addAll(ReflectUtils.getValidObjectDeclaringMethod(interfaceClass));
 
     List<Method> methods = ReflectUtils.getPublicMethod(interfaceClass);
+    // Class#getMethods() returns methods in no particular order, sort them to get stable indexes.
+    methods.sort(Comparator.comparing(ReflectUtils::getMethodSign));
     for (Method method : methods) {
       MethodModel methodModel = MethodModel.parse(method);
+      methodModel.setIndex(methodModels.size());
+      methodModels.add(methodModel);
 
       /*
        * method's name & alias
@@ -93,6 +107,7 @@ public class ServiceModel<T> {
       validMethod.add(method);
       methodMetaMap.put(method, methodModel);
     }
+    this.methodModels = Collections.unmodifiableList(methodModels);
 
     if (interfaceClass.isAnnotationPresent(RpcService.class)) {
       RpcService serviceInfo = interfaceClass.getAnnotation(RpcService.class);
@@ -102,6 +117,13 @@ public class ServiceModel<T> {
         this.serviceName = serviceInfo.name();
       }
       this.timeout = serviceInfo.timeout();
+      this.maxInflight = serviceInfo.maxInflight();
+      this.executeOn = serviceInfo.executeOn();
+    }
+    for (MethodModel methodModel : methodModels) {
+      if (methodModel.getExecuteOn() == ExecuteOn.DEFAULT) {
+        methodModel.setExecuteOn(executeOn);
+      }
     }
   }
 
@@ -141,6 +163,14 @@ public class ServiceModel<T> {
     return timeout;
   }
 
+  public int getMaxInflight() {
+    return maxInflight;
+  }
+
+  public ExecuteOn getExecuteOn() {
+    return executeOn;
+  }
+
   public MethodModel getMethodMetaByName(String methodName) {
     Method method = methodMap.get(methodName);
     if (method == null) {
@@ -150,6 +180,13 @@ public class ServiceModel<T> {
     }
   }
 
+  /**
+   * All rpc methods of this service, the i-th method's index is i.
+   */
+  public List<MethodModel> getMethodModels() {
+    return methodModels;
+  }
+
   public Method getMethodByName(String methodName) {
     return methodMap.get(methodName);
   }
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.support;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bytes before and after compression, and CPU time spent, of values compressed or decompressed.
+ */
+public final class CompressionMetrics {
+
+  private final LongAdder count = new LongAdder();
+  private final LongAdder originalBytes = new LongAdder();
+  private final LongAdder compressedBytes = new LongAdder();
+  private final LongAdder nanos = new LongAdder();
+
+  public void record(int originalLength, int compressedLength, long costNanos) {
+    count.increment();
+    originalBytes.add(originalLength);
+    compressedBytes.add(compressedLength);
+    nanos.add(costNanos);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getOriginalBytes() {
+    return originalBytes.sum();
+  }
+
+  public long getCompressedBytes() {
+    return compressedBytes.sum();
+  }
+
+  public long getNanos() {
+    return nanos.sum();
+  }
+
+  /**
+   * Compressed bytes divided by original bytes, 1 if nothing has been recorded.
+   */
+  public double getRatio() {
+    long original = originalBytes.sum();
+    return original == 0 ? 1 : (double) compressedBytes.sum() / original;
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.support;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import pink.catty.core.invoker.frame.Response;
+
+/**
+ * Responses waiting for their replies, indexed by {@code requestId & mask}.
+ *
+ * Every slot is claimed and released by CAS, no lock, no boxing and no hashing on the hot path. The
+ * request id of the response in a slot works as the generation stamp of this slot: a reply whose
+ * request id differs from the one in the slot is stale (the request has been timeout or the slot
+ * has been reused by a newer round of {@link pink.catty.core.utils.RequestIdGenerator}) and is
+ * rejected. If the slot is busy when adding, the response goes to a small overflow map.
+ *
+ * The number of pending responses is a striped LongAdder, {@link #size()} sums it on demand.
+ */
+public class PendingResponseTable {
+
+  public static final int DEFAULT_CAPACITY = 1 << 12;
+  private static final int MAX_CAPACITY = 1 << 24;
+
+  private final int mask;
+  private final AtomicReferenceArray<Response> slots;
+  private final Map<Long, Response> overflow = new ConcurrentHashMap<>();
+
+  private final LongAdder size = new LongAdder();
+  private final AtomicInteger overflowSize = new AtomicInteger();
+  private final LongAdder collisionCount = new LongAdder();
+  private final LongAdder staleCount = new LongAdder();
+
+  public PendingResponseTable() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public PendingResponseTable(int capacity) {
+    if (capacity <= 0 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("Capacity must be in (0, " + MAX_CAPACITY + "]");
+    }
+    int n = Integer.highestOneBit(capacity);
+    if (n < capacity) {
+      n <<= 1;
+    }
+    this.mask = n - 1;
+    this.slots = new AtomicReferenceArray<>(n);
+  }
+
+  /**
+   * Add a response, return false if there is already a response with the same request id.
+   */
+  public boolean put(long requestId, Response response) {
+    int index = (int) (requestId & mask);
+    // the slot might have been freed while the same id is still waiting in the overflow map.
+    if (overflowSize.get() > 0 && overflow.containsKey(requestId)) {
+      return false;
+    }
+    if (slots.compareAndSet(index, null, response)) {
+      size.increment();
+      return true;
+    }
+    Response current = slots.get(index);
+    if (current != null && current.getRequestId() == requestId) {
+      return false;
+    }
+    collisionCount.increment();
+    // counted before the entry is visible, so that put() never misses an overflowed id.
+    overflowSize.incrementAndGet();
+    if (overflow.putIfAbsent(requestId, response) != null) {
+      overflowSize.decrementAndGet();
+      return false;
+    }
+    size.increment();
+    return true;
+  }
+
+  /**
+   * Remove and return the response of requestId, return null if absent or stale.
+   */
+  public Response remove(long requestId) {
+    int index = (int) (requestId & mask);
+    Response current = slots.get(index);
+    if (current != null && current.getRequestId() == requestId
+        && slots.compareAndSet(index, current, null)) {
+      size.decrement();
+      return current;
+    }
+    if (overflowSize.get() > 0) {
+      Response response = overflow.remove(requestId);
+      if (response != null) {
+        overflowSize.decrementAndGet();
+        size.decrement();
+        return response;
+      }
+    }
+    staleCount.increment();
+    return null;
+  }
+
+  /**
+   * Remove the response only if it is still the one mapped to requestId.
+   */
+  public boolean remove(long requestId, Response response) {
+    int index = (int) (requestId & mask);
+    if (slots.compareAndSet(index, response, null)) {
+      size.decrement();
+      return true;
+    }
+    if (overflowSize.get() > 0 && overflow.remove(requestId, response)) {
+      overflowSize.decrementAndGet();
+      size.decrement();
+      return true;
+    }
+    return false;
+  }
+
+  public int capacity() {
+    return mask + 1;
+  }
+
+  /**
+   * Number of responses waiting for reply, including the overflowed ones.
+   */
+  public int size() {
+    return (int) size.sum();
+  }
+
+  public int getOverflowSize() {
+    return overflowSize.get();
+  }
+
+  /**
+   * Times of a response been added when its slot was held by another request.
+   */
+  public long getCollisionCount() {
+    return collisionCount.sum();
+  }
+
+  /**
+   * Times of a reply matched no pending response.
+   */
+  public long getStaleCount() {
+    return staleCount.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "PendingResponseTable{" +
+        "capacity=" + capacity() +
+        ", size=" + size() +
+        ", overflowSize=" + getOverflowSize() +
+        ", collisionCount=" + getCollisionCount() +
+        ", staleCount=" + getStaleCount() +
+        '}';
+  }
+}
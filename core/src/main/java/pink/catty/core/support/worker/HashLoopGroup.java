@@ -16,59 +16,84 @@ package pink.catty.core.support.worker;
 
 import io.netty.util.concurrent.DefaultEventExecutor;
 import io.netty.util.concurrent.EventExecutor;
-import io.netty.util.concurrent.EventExecutorChooserFactory;
-import io.netty.util.concurrent.EventExecutorChooserFactory.EventExecutorChooser;
 import io.netty.util.concurrent.MultithreadEventExecutorGroup;
 import io.netty.util.concurrent.RejectedExecutionHandler;
 import io.netty.util.concurrent.RejectedExecutionHandlers;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ExecutorService;
 
 /**
  * HashLoopGroup guarantees that the task from the same hash number will be dispatched to
  * the same thread.
  *
  * If you need to execute some task by order, you could use HashLoopGroup.
+ *
+ * Every child owns its task queue and is its only consumer, tasks are never stolen by other
+ * children, so tasks with the same hash are executed by submitting order.
+ *
+ * Children are DefaultEventExecutors by default, or {@link MpscEventExecutor}s with bounded
+ * lock-free queues if mpscQueueCapacity is set, tasks submitted to a full queue are rejected.
  */
 public final class HashLoopGroup
     extends MultithreadEventExecutorGroup
     implements HashableExecutor {
 
   private static final int DEFAULT_MAX_PENDING_EXECUTOR_TASKS = Integer.MAX_VALUE;
-  private static List<EventExecutor> children = new ArrayList<>(); // before <init>
 
-  private HashableChooser chooser;
-  // todo: add a classicExecutor.
-  private ExecutorService classicExecutor;
+  private final EventExecutor[] children;
+  private final HashableChooser chooser;
 
   public HashLoopGroup(int threadNum, HashableChooserFactory chooserFactory) {
-    this(threadNum, null, chooserFactory, DEFAULT_MAX_PENDING_EXECUTOR_TASKS,
-        RejectedExecutionHandlers.reject());
-    EventExecutorChooser chooser = chooserFactory
-        .newChooser(children.toArray(new EventExecutor[0]));
-    this.chooser = (HashableChooser) chooser;
+    this(threadNum, chooserFactory, 0);
+  }
+
+  public HashLoopGroup(int threadNum, HashableChooserFactory chooserFactory,
+      int mpscQueueCapacity) {
+    this(threadNum, null, chooserFactory,
+        mpscQueueCapacity > 0 ? mpscQueueCapacity : DEFAULT_MAX_PENDING_EXECUTOR_TASKS,
+        RejectedExecutionHandlers.reject(), mpscQueueCapacity > 0);
   }
 
   private HashLoopGroup(int threadNum, Executor executor,
-      EventExecutorChooserFactory chooserFactory, Object... args) {
+      HashableChooserFactory chooserFactory, Object... args) {
     super(threadNum, executor, chooserFactory, args);
+    // children are created by super constructor, when fields of this group are not initialized.
+    List<EventExecutor> list = new ArrayList<>(threadNum);
+    for (EventExecutor child : this) {
+      list.add(child);
+    }
+    this.children = list.toArray(new EventExecutor[0]);
+    this.chooser = (HashableChooser) chooserFactory.newChooser(children);
   }
 
   // EventExecutorGroup
   @Override
   protected EventExecutor newChild(Executor executor, Object... args) throws Exception {
-    EventExecutor newChildren = new DefaultEventExecutor(this, executor, (Integer) args[0],
+    if ((Boolean) args[2]) {
+      return new MpscEventExecutor(this, executor, (Integer) args[0],
+          (RejectedExecutionHandler) args[1]);
+    }
+    return new DefaultEventExecutor(this, executor, (Integer) args[0],
         (RejectedExecutionHandler) args[1]);
-    children.add(newChildren);
-    return newChildren;
   }
 
   // HashableExecutor
   @Override
   public void submit(int hash, Runnable task) {
-    chooser.next(hash).submit(task);
+    chooser.next(hash).execute(task);
+  }
+
+  /**
+   * Number of tasks waiting in the queue of every child, indexed by child.
+   */
+  public int[] getPendingTasks() {
+    int[] pendingTasks = new int[children.length];
+    for (int i = 0; i < children.length; i++) {
+      pendingTasks[i] = ((SingleThreadEventExecutor) children[i]).pendingTasks();
+    }
+    return pendingTasks;
   }
 
 }
@@ -86,7 +86,7 @@ public class HashableChooserFactory implements EventExecutorChooserFactory {
 
     @Override
     public EventExecutor next(int hash) {
-      return executors[hash % size];
+      return executors[(hash & Integer.MAX_VALUE) % size];
     }
   }
 }
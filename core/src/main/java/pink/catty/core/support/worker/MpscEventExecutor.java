@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.support.worker;
+
+import io.netty.util.concurrent.EventExecutorGroup;
+import io.netty.util.concurrent.RejectedExecutionHandler;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import io.netty.util.internal.PlatformDependent;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ordered worker of {@link HashLoopGroup} whose tasks are queued in a bounded lock-free MPSC array
+ * queue instead of the LinkedBlockingQueue of DefaultEventExecutor. Tasks are drained by batch,
+ * shutdown is checked once per batch.
+ *
+ * An idle worker spins, then yields, then parks. The spin budget adapts: it doubles when a task
+ * arrives while spinning and halves when the worker has to park, so busy workers avoid park/unpark
+ * and quiet workers do not burn CPU.
+ */
+public final class MpscEventExecutor extends SingleThreadEventExecutor {
+
+  private static final int BATCH_SIZE = 64;
+
+  // spinning never helps with a single processor.
+  private static final boolean MULTI_PROCESSORS = Runtime.getRuntime().availableProcessors() > 1;
+  private static final int MIN_SPINS = MULTI_PROCESSORS ? 16 : 0;
+  private static final int MAX_SPINS = MULTI_PROCESSORS ? 4096 : 0;
+  private static final int YIELDS = 16;
+
+  private volatile Thread worker;
+  private volatile boolean parked;
+  private int spins = MIN_SPINS;
+
+  public MpscEventExecutor(EventExecutorGroup parent, Executor executor, int queueCapacity,
+      RejectedExecutionHandler rejectedHandler) {
+    super(parent, executor, false, queueCapacity, rejectedHandler);
+  }
+
+  @Override
+  protected Queue<Runnable> newTaskQueue(int maxPendingTasks) {
+    return PlatformDependent.newFixedMpscQueue(maxPendingTasks);
+  }
+
+  @Override
+  protected void run() {
+    worker = Thread.currentThread();
+    int idle = 0;
+    for (; ; ) {
+      if (runBatch() > 0) {
+        if (idle > 0) {
+          // a task arrived while spinning or yielding, spin longer next time.
+          spins = Math.min(spins << 1, MAX_SPINS);
+          idle = 0;
+        }
+      } else if (hasScheduledTasks()) {
+        runAllTasks();
+      } else {
+        idle++;
+        if (idle > spins + YIELDS) {
+          park();
+          spins = Math.max(spins >> 1, MIN_SPINS);
+          idle = 0;
+        } else if (idle > spins) {
+          Thread.yield();
+        }
+      }
+      if (confirmShutdown()) {
+        break;
+      }
+    }
+  }
+
+  @Override
+  protected void wakeup(boolean inEventLoop) {
+    if (!inEventLoop && parked) {
+      Thread thread = worker;
+      if (thread != null) {
+        LockSupport.unpark(thread);
+      }
+    }
+  }
+
+  private int runBatch() {
+    int ran = 0;
+    Runnable task;
+    while (ran < BATCH_SIZE && (task = pollTask()) != null) {
+      safeExecute(task);
+      ran++;
+    }
+    if (ran > 0) {
+      updateLastExecutionTime();
+    }
+    return ran;
+  }
+
+  private void park() {
+    parked = true;
+    try {
+      // check again after publishing parked, a producer missing it has queued a task.
+      if (!hasTasks() && !isShuttingDown()) {
+        LockSupport.parkNanos(this, delayNanos(System.nanoTime()));
+      }
+    } finally {
+      parked = false;
+    }
+  }
+}
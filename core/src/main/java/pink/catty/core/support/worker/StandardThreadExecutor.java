@@ -23,14 +23,31 @@ import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import pink.catty.core.Constants;
 
+/**
+ * Elastic pool which creates threads up to maxThreads before queueing tasks, and queues at most
+ * queueCapacity tasks.
+ *
+ * The capacity is split into stripes, a submitter takes a unit from the stripe of its thread and
+ * only visits other stripes when its own is full, so submitters do not contend on one counter. The
+ * stripes never hold more than the capacity in total, and a task is rejected only when every stripe
+ * is full. Idle threads are found by {@link LinkedTransferQueue#tryTransfer(Object)} instead of
+ * comparing counters, and the metrics counters are LongAdders. Submitting a task takes no lock of
+ * ThreadPoolExecutor.
+ */
 public class StandardThreadExecutor extends ThreadPoolExecutor {
 
   public static final int DEFAULT_MIN_THREADS = 20;
   public static final int DEFAULT_MAX_THREADS = 200;
   public static final int DEFAULT_MAX_IDLE_TIME = 60 * 1000; // 1 minutes
 
-  protected AtomicInteger submittedTasksCount;
+  private final StripedCapacity submittedTasksCount;
+  private final LongAdder activeCount = new LongAdder();
+  private final LongAdder rejectedCount = new LongAdder();
+  private final AtomicInteger liveThreads = new AtomicInteger();
   private int maxSubmittedTaskCount;
 
   public StandardThreadExecutor() {
@@ -72,41 +89,177 @@ public class StandardThreadExecutor extends ThreadPoolExecutor {
     super(coreThreads, maxThreads, keepAliveTime, unit, new ExecutorQueue(), threadFactory,
         handler);
     ((ExecutorQueue) getQueue()).setStandardThreadExecutor(this);
+    setThreadFactory(new CountingThreadFactory(threadFactory));
 
-    submittedTasksCount = new AtomicInteger(0);
     maxSubmittedTaskCount = queueCapacity + maxThreads;
+    submittedTasksCount = new StripedCapacity(maxSubmittedTaskCount);
   }
 
   public void execute(Runnable command) {
-    int count = submittedTasksCount.incrementAndGet();
-
-    if (count > maxSubmittedTaskCount) {
-      submittedTasksCount.decrementAndGet();
-      getRejectedExecutionHandler().rejectedExecution(command, this);
+    if (!submittedTasksCount.tryAcquire()) {
+      reject(command);
+      return;
     }
 
     try {
       super.execute(command);
     } catch (RejectedExecutionException rx) {
       // there could have been contention around the queue
-      if (!((ExecutorQueue) getQueue()).force(command)) {
-        submittedTasksCount.decrementAndGet();
-
-        getRejectedExecutionHandler().rejectedExecution(command, this);
+      boolean queued = false;
+      try {
+        queued = ((ExecutorQueue) getQueue()).force(command);
+      } finally {
+        if (!queued) {
+          submittedTasksCount.release();
+        }
+      }
+      if (!queued) {
+        reject(command);
       }
     }
   }
 
+  private void reject(Runnable command) {
+    rejectedCount.increment();
+    getRejectedExecutionHandler().rejectedExecution(command, this);
+  }
+
   public int getSubmittedTasksCount() {
-    return this.submittedTasksCount.get();
+    return submittedTasksCount.sum();
   }
 
   public int getMaxSubmittedTaskCount() {
     return maxSubmittedTaskCount;
   }
 
+  /**
+   * Number of threads running tasks, without taking the lock of ThreadPoolExecutor.
+   */
+  public int getActiveThreadCount() {
+    return (int) activeCount.sum();
+  }
+
+  /**
+   * Number of tasks waiting in the queue, estimated by submitted tasks minus running tasks.
+   */
+  public int getQueueLength() {
+    return (int) Math.max(0, submittedTasksCount.sum() - activeCount.sum());
+  }
+
+  /**
+   * Number of tasks rejected by this pool.
+   */
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  /**
+   * Number of threads started and not terminated, without taking the lock of ThreadPoolExecutor.
+   */
+  int getLiveThreadCount() {
+    return liveThreads.get();
+  }
+
+  protected void beforeExecute(Thread t, Runnable r) {
+    activeCount.increment();
+  }
+
   protected void afterExecute(Runnable r, Throwable t) {
-    submittedTasksCount.decrementAndGet();
+    activeCount.decrement();
+    submittedTasksCount.release();
+  }
+
+  /*
+   * Capacity split into padded stripes picked by the current thread, the limits of all stripes add
+   * up to the capacity. A unit may be released from any stripe, only the total matters.
+   */
+  private static final class StripedCapacity {
+
+    // 16 ints apart, every stripe on its own cache line.
+    private static final int SHIFT = 4;
+
+    private final int mask;
+    private final int[] limits;
+    private final AtomicIntegerArray counts;
+
+    StripedCapacity(int capacity) {
+      int stripes = Math.min(Integer.highestOneBit(Math.max(capacity, 1)),
+          Integer.highestOneBit(Constants.THREAD_NUMBER * 2 - 1));
+      this.mask = stripes - 1;
+      this.limits = new int[stripes];
+      for (int i = 0; i < stripes; i++) {
+        limits[i] = capacity / stripes + (i < capacity % stripes ? 1 : 0);
+      }
+      this.counts = new AtomicIntegerArray(stripes << SHIFT);
+    }
+
+    boolean tryAcquire() {
+      int start = probe();
+      for (int i = 0; i <= mask; i++) {
+        int stripe = (start + i) & mask;
+        int index = stripe << SHIFT;
+        int count;
+        while ((count = counts.get(index)) < limits[stripe]) {
+          if (counts.compareAndSet(index, count, count + 1)) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    void release() {
+      int start = probe();
+      // the unit is held by some stripe, a concurrent release may take the one seen first.
+      for (; ; ) {
+        for (int i = 0; i <= mask; i++) {
+          int index = ((start + i) & mask) << SHIFT;
+          int count;
+          while ((count = counts.get(index)) > 0) {
+            if (counts.compareAndSet(index, count, count - 1)) {
+              return;
+            }
+          }
+        }
+      }
+    }
+
+    int sum() {
+      int sum = 0;
+      for (int i = 0; i <= mask; i++) {
+        sum += counts.get(i << SHIFT);
+      }
+      return sum;
+    }
+
+    private static int probe() {
+      int h = (int) Thread.currentThread().getId() * 0x9E3779B9;
+      return h ^ (h >>> 16);
+    }
+  }
+
+  private class CountingThreadFactory implements ThreadFactory {
+
+    private final ThreadFactory threadFactory;
+
+    CountingThreadFactory(ThreadFactory threadFactory) {
+      this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public Thread newThread(Runnable r) {
+      // counted by the worker itself, a thread which fails to start is never counted. A thread not
+      // started yet is missed by offer(), which then asks for one more thread or falls back to
+      // force().
+      return threadFactory.newThread(() -> {
+        liveThreads.incrementAndGet();
+        try {
+          r.run();
+        } finally {
+          liveThreads.decrementAndGet();
+        }
+      });
+    }
   }
 }
 
@@ -133,16 +286,17 @@ class ExecutorQueue extends LinkedTransferQueue<Runnable> {
   }
 
   public boolean offer(Runnable o) {
-    int poolSize = threadPoolExecutor.getPoolSize();
+    // getPoolSize() takes the main lock of ThreadPoolExecutor.
+    int poolSize = threadPoolExecutor.getLiveThreadCount();
 
     // we are maxed out on threads, simply queue the object
     if (poolSize == threadPoolExecutor.getMaximumPoolSize()) {
       return super.offer(o);
     }
-    // we have idle threads, just add it to the queue
+    // we have idle threads, hand it to one of them
     // note that we don't use getActiveCount(), see BZ 49730
-    if (threadPoolExecutor.getSubmittedTasksCount() <= poolSize) {
-      return super.offer(o);
+    if (tryTransfer(o)) {
+      return true;
     }
     // if we have less threads than maximum force creation of a new
     // thread
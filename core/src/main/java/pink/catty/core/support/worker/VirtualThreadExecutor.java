@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.core.support.worker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pink.catty.core.CattyException;
+
+/**
+ * Executor starting a virtual thread for every task, so that providers blocking on IO do not need
+ * a big thread pool. Virtual threads are created by reflection because Catty is built for Java 8,
+ * creating this executor on a JVM older than 21 throws CattyException.
+ *
+ * maxConcurrency limits the number of tasks running at the same time, tasks over the limit wait in
+ * their own virtual thread, 0 means no limit. Tasks submitted by {@link #submit(int, Runnable)}
+ * with the same hash are executed one by one by submitting order, like {@link HashableExecutor}.
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService {
+
+  private static final Logger logger = LoggerFactory.getLogger(VirtualThreadExecutor.class);
+
+  private static final int ORDERED_LANES = 1024;
+
+  private final ThreadFactory threadFactory;
+  private final Semaphore semaphore;
+  private final OrderedLane[] lanes = new OrderedLane[ORDERED_LANES];
+  private final AtomicInteger activeCount = new AtomicInteger();
+  private final Object terminationLock = new Object();
+  private volatile boolean shutdown;
+
+  public VirtualThreadExecutor(int maxConcurrency) {
+    this.threadFactory = newVirtualThreadFactory();
+    this.semaphore = maxConcurrency > 0 ? new Semaphore(maxConcurrency) : null;
+    for (int i = 0; i < lanes.length; i++) {
+      lanes[i] = new OrderedLane();
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (command == null) {
+      throw new NullPointerException();
+    }
+    start(() -> runLimited(command));
+  }
+
+  /**
+   * Tasks with the same hash are executed by submitting order.
+   */
+  public void submit(int hash, Runnable task) {
+    if (task == null) {
+      throw new NullPointerException();
+    }
+    lanes[(hash & Integer.MAX_VALUE) % lanes.length].offer(task);
+  }
+
+  /**
+   * Number of virtual threads started by this executor and not finished yet.
+   */
+  public int getActiveCount() {
+    return activeCount.get();
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+    tryTerminate();
+  }
+
+  /**
+   * Running virtual threads are not interrupted, ordered tasks not started yet are returned.
+   */
+  @Override
+  public List<Runnable> shutdownNow() {
+    shutdown();
+    List<Runnable> tasks = new ArrayList<>();
+    for (OrderedLane lane : lanes) {
+      Runnable task;
+      while ((task = lane.queue.poll()) != null) {
+        tasks.add(task);
+      }
+    }
+    return tasks;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return shutdown;
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return shutdown && activeCount.get() == 0;
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    synchronized (terminationLock) {
+      while (!isTerminated()) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+          return false;
+        }
+        TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+      }
+      return true;
+    }
+  }
+
+  private void start(Runnable task) {
+    if (shutdown) {
+      throw new RejectedExecutionException("VirtualThreadExecutor has been shutdown");
+    }
+    activeCount.incrementAndGet();
+    try {
+      threadFactory.newThread(() -> {
+        try {
+          task.run();
+        } finally {
+          if (activeCount.decrementAndGet() == 0) {
+            tryTerminate();
+          }
+        }
+      }).start();
+    } catch (Throwable e) {
+      activeCount.decrementAndGet();
+      throw new RejectedExecutionException("Start virtual thread error", e);
+    }
+  }
+
+  private void runLimited(Runnable task) {
+    if (semaphore == null) {
+      task.run();
+      return;
+    }
+    semaphore.acquireUninterruptibly();
+    try {
+      task.run();
+    } finally {
+      semaphore.release();
+    }
+  }
+
+  private void tryTerminate() {
+    if (isTerminated()) {
+      synchronized (terminationLock) {
+        terminationLock.notifyAll();
+      }
+    }
+  }
+
+  private static ThreadFactory newVirtualThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class)
+          .invoke(builder, "catty-virtual-", 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      throw new CattyException("Virtual thread is not supported by this JVM, Java 21+ is needed",
+          e);
+    }
+  }
+
+  /*
+   * Tasks of the same lane are drained by at most one virtual thread at a time.
+   */
+  private class OrderedLane implements Runnable {
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    void offer(Runnable task) {
+      if (shutdown) {
+        throw new RejectedExecutionException("VirtualThreadExecutor has been shutdown");
+      }
+      queue.offer(task);
+      if (scheduled.compareAndSet(false, true)) {
+        try {
+          start(this);
+        } catch (RejectedExecutionException e) {
+          queue.remove(task);
+          scheduled.set(false);
+          throw e;
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      for (; ; ) {
+        Runnable task;
+        while ((task = queue.poll()) != null) {
+          try {
+            runLimited(task);
+          } catch (Throwable e) {
+            logger.error("VirtualThreadExecutor: ordered task error.", e);
+          }
+        }
+        scheduled.set(false);
+        if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+          return;
+        }
+      }
+    }
+  }
+}
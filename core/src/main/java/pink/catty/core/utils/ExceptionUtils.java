@@ -14,31 +14,55 @@
  */
 package pink.catty.core.utils;
 
-import pink.catty.core.CattyException;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import pink.catty.core.CattyException;
+import pink.catty.core.service.MethodModel;
 
 public abstract class ExceptionUtils {
 
-  public static String toString(String msg, Throwable t) {
-    StringWriter writer = new StringWriter();
-    writer.write(msg + "\n");
-    PrintWriter p = new PrintWriter(writer);
-    try {
-      t.printStackTrace(p);
-      return writer.toString();
-    } finally {
-      p.close();
+  /**
+   * Constructor(String) of exception classes, or Constructor() if there is no such one, or null if
+   * the class has neither of them.
+   */
+  private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+    @Override
+    protected Constructor<?> computeValue(Class<?> type) {
+      try {
+        return type.getConstructor(String.class);
+      } catch (NoSuchMethodException e) {
+        // try the default one.
+      }
+      try {
+        return type.getConstructor();
+      } catch (NoSuchMethodException e) {
+        return null;
+      }
     }
-  }
+  };
+
+  /**
+   * Exception classes which are not declared by methods, loaded by name.
+   */
+  private static final Map<String, Class<?>> EXCEPTION_CLASSES = new ConcurrentHashMap<>();
+
+  private static final int NO_STACK_TRACE = -1;
+  private static final int NULL_STRING = -1;
 
-  public static String toString(Throwable t) {
+  public static String toString(String msg, Throwable t) {
     StringWriter writer = new StringWriter();
+    writer.write(msg + "\n");
     PrintWriter p = new PrintWriter(writer);
-    p.print(t.getClass().getName());
-    p.println();
     try {
       t.printStackTrace(p);
       return writer.toString();
@@ -47,16 +71,17 @@ public abstract class ExceptionUtils {
     }
   }
 
-  public static String[] parseExceptionString(String s) {
-    return new String[]{s.substring(0, s.indexOf("\n")), s.substring(s.indexOf("\n") + 1)};
-  }
-
   public static Throwable getInstance(Class<?> exceptionClass, String msg) {
+    Constructor<?> constructor = CONSTRUCTORS.get(exceptionClass);
+    if (constructor == null) {
+      return new CattyException(exceptionClass.getName() + ": " + msg);
+    }
     try {
-      Constructor constructor = exceptionClass.getConstructor(String.class);
+      if (constructor.getParameterCount() == 0) {
+        return (Throwable) constructor.newInstance();
+      }
       return (Throwable) constructor.newInstance(msg);
-    } catch (NoSuchMethodException
-        | InstantiationException
+    } catch (InstantiationException
         | IllegalAccessException
         | IllegalArgumentException
         | InvocationTargetException e) {
@@ -64,17 +89,119 @@ public abstract class ExceptionUtils {
     }
   }
 
-  public static void main(String[] args) {
-    Object o = null;
+  /**
+   * Write an exception thrown by the method as an error frame:
+   *
+   * exception id (short), 0 if the exception class is not declared by the method,
+   *
+   * class name (string), only if exception id is 0,
+   *
+   * message (string),
+   *
+   * stack frames count (int), -1 if the method doesn't send stack trace, followed by class name,
+   * method name, file name (string) and line number (int) of each frame.
+   *
+   * Strings are written as the length of UTF-8 bytes (int) followed by the bytes, -1 means null.
+   */
+  public static void writeException(Throwable t, MethodModel methodModel, OutputStream out) {
+    DataOutputStream data = new DataOutputStream(out);
+    try {
+      int exceptionId = methodModel.getExceptionId(t.getClass());
+      data.writeShort(exceptionId);
+      if (exceptionId == 0) {
+        writeString(data, t.getClass().getName());
+      }
+      writeString(data, t.getMessage());
+      if (methodModel.isSendStackTrace()) {
+        StackTraceElement[] stackTrace = t.getStackTrace();
+        data.writeInt(stackTrace.length);
+        for (StackTraceElement element : stackTrace) {
+          writeString(data, element.getClassName());
+          writeString(data, element.getMethodName());
+          writeString(data, element.getFileName());
+          data.writeInt(element.getLineNumber());
+        }
+      } else {
+        data.writeInt(NO_STACK_TRACE);
+      }
+      data.flush();
+    } catch (IOException e) {
+      throw new CattyException("Write exception error", e);
+    }
+  }
+
+  /**
+   * Read an exception written by {@link #writeException(Throwable, MethodModel, OutputStream)}.
+   * If the exception class is not found, a CattyException with the class name and message is
+   * returned instead.
+   */
+  public static Throwable readException(InputStream in, MethodModel methodModel) {
+    DataInputStream data = new DataInputStream(in);
+    try {
+      int exceptionId = data.readUnsignedShort();
+      Class<?> exceptionClass;
+      String className;
+      if (exceptionId == 0) {
+        className = readString(data);
+        exceptionClass = getExceptionClass(className);
+      } else {
+        exceptionClass = methodModel.getExceptionById(exceptionId);
+        className = "exception id " + exceptionId;
+      }
+      String message = readString(data);
+      Throwable t = exceptionClass == null
+          ? new CattyException(className + ": " + message)
+          : getInstance(exceptionClass, message);
+
+      int stackDepth = data.readInt();
+      if (stackDepth != NO_STACK_TRACE) {
+        StackTraceElement[] stackTrace = new StackTraceElement[stackDepth];
+        for (int i = 0; i < stackDepth; i++) {
+          stackTrace[i] = new StackTraceElement(readString(data), readString(data),
+              readString(data), data.readInt());
+        }
+        t.setStackTrace(stackTrace);
+      }
+      return t;
+    } catch (IOException e) {
+      return new CattyException("Read exception error", e);
+    }
+  }
+
+  private static Class<?> getExceptionClass(String className) {
+    Class<?> exceptionClass = EXCEPTION_CLASSES.get(className);
+    if (exceptionClass != null) {
+      return exceptionClass;
+    }
     try {
-      o.getClass();
-    } catch (Exception e) {
-      IllegalArgumentException exception = new IllegalArgumentException("test", e);
-      String s = ExceptionUtils.toString(exception);
-      System.out.println(s);
-      System.out.println(ExceptionUtils.toString("test1", e));
-      System.out.println(parseExceptionString(s)[0]);
-      System.out.println(parseExceptionString(s)[1]);
+      exceptionClass = Class.forName(className);
+    } catch (ClassNotFoundException e) {
+      return null;
+    }
+    if (!Throwable.class.isAssignableFrom(exceptionClass)) {
+      return null;
+    }
+    EXCEPTION_CLASSES.put(className, exceptionClass);
+    return exceptionClass;
+  }
+
+  private static void writeString(DataOutputStream data, String s) throws IOException {
+    if (s == null) {
+      data.writeInt(NULL_STRING);
+      return;
+    }
+    byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+    data.writeInt(bytes.length);
+    data.write(bytes);
+  }
+
+  private static String readString(DataInputStream data) throws IOException {
+    int length = data.readInt();
+    if (length == NULL_STRING) {
+      return null;
     }
+    byte[] bytes = new byte[length];
+    data.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
   }
 }
@@ -57,6 +57,7 @@ public class CattyInvokerBuilder implements InvokerChainBuilder {
         .getSerialization()
         .getExtensionSingleton(meta.getSerialization());
     ProviderInvoker providerInvoker = new ProviderInvoker(meta);
-    return new ProviderSerialization(providerInvoker, serialization);
+    return new ProviderSerialization(providerInvoker, serialization, meta.getCompression(),
+        meta.isCompressionEnabled(), meta.getCompressionThreshold());
   }
 }
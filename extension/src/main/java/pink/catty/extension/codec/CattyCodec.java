@@ -15,18 +15,30 @@
 package pink.catty.extension.codec;
 
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.UnsafeByteOperations;
 import io.netty.buffer.ByteBuf;
-import java.util.ArrayList;
 import pink.catty.core.CodecException;
+import pink.catty.core.ServerBusyException;
 import pink.catty.core.extension.Extension;
 import pink.catty.core.extension.ExtensionType.CodecType;
 import pink.catty.core.extension.spi.Codec;
+import pink.catty.core.invoker.frame.CompressedValue;
 import pink.catty.core.invoker.frame.DefaultRequest;
+import pink.catty.core.invoker.frame.Payload;
 import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.ErrorFrame;
 import pink.catty.core.invoker.frame.Request;
 import pink.catty.core.invoker.frame.Response;
 import pink.catty.extension.codec.generated.CattyProtocol;
+import pink.catty.extension.codec.generated.CattyProtocol.Response.Status;
 
+/**
+ * Only encoding avoids copies: serialized arguments and return values are wrapped into the frame.
+ * Decoding copies each argument and return value once, from the frame into the byte[] read by the
+ * serialization. The frame is parsed with aliasing, so protobuf does not copy bytes fields on its
+ * own, and {@link #fromProtocol} makes the only copy.
+ */
 @Extension(CodecType.CATTY)
 public class CattyCodec extends ProtobufPackageReader implements Codec<ByteBuf, byte[]> {
 
@@ -47,19 +59,10 @@ public class CattyCodec extends ProtobufPackageReader implements Codec<ByteBuf,
   public Object decode(byte[] data, DataTypeEnum dataTypeEnum) throws CodecException {
     try {
       if (DataTypeEnum.REQUEST == dataTypeEnum) {
-        CattyProtocol.Request request = CattyProtocol.Request.parseFrom(data);
-        Object[] args = new Object[request.getArgumentsCount()];
-        for (int i = 0; i < request.getArgumentsCount(); i++) {
-          args[i] = request.getArguments(i).toByteArray();
-        }
-        return new DefaultRequest(request.getRequestId(), request.getInterfaceName(),
-            request.getMethodName(), args);
+        return fromProtocol(CattyProtocol.Request.parseFrom(newAliasingInput(data)));
       }
       if (DataTypeEnum.RESPONSE == dataTypeEnum) {
-        CattyProtocol.Response response = CattyProtocol.Response.parseFrom(data);
-        Response response0 = new DefaultResponse(response.getRequestId());
-        response0.setValue(response.getReturnValue().toByteArray());
-        return response0;
+        return fromProtocol(CattyProtocol.Response.parseFrom(newAliasingInput(data)));
       }
       throw new CodecException("Illegal DataTypeEnum: " + dataTypeEnum);
     } catch (Exception e) {
@@ -67,6 +70,20 @@ public class CattyCodec extends ProtobufPackageReader implements Codec<ByteBuf,
     }
   }
 
+  private static CodedInputStream newAliasingInput(byte[] data) {
+    return newAliasingInput(UnsafeByteOperations.unsafeWrap(data));
+  }
+
+  /**
+   * Bytes fields parsed from the input are views of frame, which must not be used after frame is
+   * released. Protobuf only aliases an immutable input, hence the ByteString.
+   */
+  static CodedInputStream newAliasingInput(ByteString frame) {
+    CodedInputStream in = frame.newCodedInput();
+    in.enableAliasing(true);
+    return in;
+  }
+
   private byte[] encodeHeader(byte[] body) {
     int bodyLen = body.length;
     int headerLen = computeRawVarint32Size(bodyLen);
@@ -77,36 +94,109 @@ public class CattyCodec extends ProtobufPackageReader implements Codec<ByteBuf,
   }
 
   private byte[] encodeRequestBody(Request request) {
-    if (request.getArgsValue() != null) {
-      ArrayList<ByteString> values = new ArrayList<>(request.getArgsValue().length);
+    return toProtocol(request).toByteArray();
+  }
+
+  private byte[] encodeResponseBody(Response response) {
+    return toProtocol(response).toByteArray();
+  }
+
+  /*
+   * Arguments and return value are serialized bytes which would never be modified, so they are
+   * wrapped rather than copied.
+   */
+  static CattyProtocol.Request toProtocol(Request request) {
+    return toProtocol(request, true);
+  }
+
+  /**
+   * Arguments which are {@link Payload} are serialized here.
+   */
+  static CattyProtocol.Request toProtocol(Request request, boolean withArguments) {
+    CattyProtocol.Request.Builder builder = CattyProtocol.Request.newBuilder()
+        .setRequestId(request.getRequestId())
+        .setTimeout(request.getTimeout())
+        .setAcceptCompression(request.isAcceptCompression());
+    if (request.getServiceId() > 0) {
+      builder.setServiceId(request.getServiceId())
+          .setMethodId(request.getMethodId());
+    } else {
+      builder.setInterfaceName(request.getInterfaceName())
+          .setMethodName(request.getMethodName());
+    }
+    if (withArguments && request.getArgsValue() != null) {
       for (int i = 0; i < request.getArgsValue().length; i++) {
-        values.add(ByteString.copyFrom((byte[]) request.getArgsValue()[i]));
+        builder.addArguments(UnsafeByteOperations
+            .unsafeWrap((byte[]) Payload.serialized(request.getArgsValue()[i])));
       }
-      return CattyProtocol.Request.newBuilder()
-          .setRequestId(request.getRequestId())
-          .addAllArguments(values)
-          .setInterfaceName(request.getInterfaceName())
-          .setMethodName(request.getMethodName())
-          .build()
-          .toByteArray();
-    } else {
-      return CattyProtocol.Request.newBuilder()
-          .setRequestId(request.getRequestId())
-          .setInterfaceName(request.getInterfaceName())
-          .setMethodName(request.getMethodName())
-          .build()
-          .toByteArray();
     }
+    return builder.build();
   }
 
-  private byte[] encodeResponseBody(Response response) {
-    return CattyProtocol.Response.newBuilder()
+  static CattyProtocol.Response toProtocol(Response response) {
+    CattyProtocol.Response.Builder builder = CattyProtocol.Response.newBuilder()
         .setRequestId(response.getRequestId())
-        .setReturnValue(ByteString.copyFrom((byte[]) response.getValue()))
-        .build()
-        .toByteArray();
+        .setServiceId(response.getServiceId())
+        .setMethodId(response.getMethodId());
+    if (response.getValue() instanceof ServerBusyException) {
+      String message = ((ServerBusyException) response.getValue()).getMessage();
+      return builder
+          .setStatus(Status.BUSY)
+          .setReturnValue(ByteString.copyFromUtf8(message == null ? "" : message))
+          .build();
+    }
+    if (response.getValue() instanceof ErrorFrame) {
+      byte[] error = ((ErrorFrame) response.getValue()).getBytes();
+      return builder
+          .setStatus(Status.ERROR)
+          .setReturnValue(UnsafeByteOperations.unsafeWrap(error))
+          .build();
+    }
+    if (response.getValue() instanceof CompressedValue) {
+      CompressedValue value = (CompressedValue) response.getValue();
+      return builder
+          .setCompression(value.getCompressionType())
+          .setReturnValue(UnsafeByteOperations.unsafeWrap(value.getBytes()))
+          .build();
+    }
+    return builder
+        .setReturnValue(UnsafeByteOperations.unsafeWrap((byte[]) response.getValue()))
+        .build();
   }
 
+  /*
+   * Arguments and return value might be views of the frame, they are copied out here.
+   */
+  static Request fromProtocol(CattyProtocol.Request request) {
+    Object[] args = new Object[request.getArgumentsCount()];
+    for (int i = 0; i < request.getArgumentsCount(); i++) {
+      args[i] = request.getArguments(i).toByteArray();
+    }
+    Request result = new DefaultRequest(request.getRequestId(), request.getInterfaceName(),
+        request.getMethodName(), args);
+    result.setTimeout(request.getTimeout());
+    result.setServiceId(request.getServiceId());
+    result.setMethodId(request.getMethodId());
+    result.setAcceptCompression(request.getAcceptCompression());
+    return result;
+  }
+
+  static Response fromProtocol(CattyProtocol.Response response) {
+    Response response0 = new DefaultResponse(response.getRequestId());
+    response0.setServiceId(response.getServiceId());
+    response0.setMethodId(response.getMethodId());
+    if (response.getStatus() == Status.BUSY) {
+      response0.setValue(new ServerBusyException(response.getReturnValue().toStringUtf8()));
+    } else if (response.getStatus() == Status.ERROR) {
+      response0.setValue(new ErrorFrame(response.getReturnValue().toByteArray()));
+    } else if (!response.getCompression().isEmpty()) {
+      response0.setValue(
+          new CompressedValue(response.getCompression(), response.getReturnValue().toByteArray()));
+    } else {
+      response0.setValue(response.getReturnValue().toByteArray());
+    }
+    return response0;
+  }
 
   private int writeRawVarint32(byte[] data, int value) {
     for (int i = 0; i < data.length; i++) {
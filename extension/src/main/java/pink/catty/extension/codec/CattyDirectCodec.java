@@ -0,0 +1,170 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.extension.codec;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.UnsafeByteOperations;
+import com.google.protobuf.WireFormat;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import pink.catty.core.CodecException;
+import pink.catty.core.SerializationException;
+import pink.catty.core.extension.Extension;
+import pink.catty.core.extension.ExtensionType.CodecType;
+import pink.catty.core.extension.spi.ByteBufCodec;
+import pink.catty.core.invoker.frame.Payload;
+import pink.catty.core.invoker.frame.Request;
+import pink.catty.core.invoker.frame.Response;
+import pink.catty.extension.codec.generated.CattyProtocol;
+
+/**
+ * Same protocol as {@link CattyCodec}, but works on ByteBuf directly. Frames are parsed from the
+ * retained slice of inbound buffer, and encoded into a direct buffer allocated from the channel's
+ * allocator with the varint length prefix written in place. Like CattyCodec, decoding copies each
+ * argument and return value once, out of the slice which is released after decoding.
+ *
+ * Arguments which are {@link Payload} are serialized straight into the frame. As their length is
+ * unknown before serializing, the lengths of the frame and of such arguments are written as
+ * varints padded to 5 bytes, which are still valid varints for any protobuf parser.
+ */
+@Extension(CodecType.CATTY_DIRECT)
+public class CattyDirectCodec extends ProtobufSlicePackageReader implements ByteBufCodec {
+
+  private static final int PADDED_VARINT_SIZE = 5;
+  private static final int ARGUMENTS_TAG =
+      CattyProtocol.Request.ARGUMENTS_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+  @Override
+  public ByteBuf encode(Object message, DataTypeEnum dataTypeEnum, ByteBufAllocator allocator)
+      throws CodecException {
+    MessageLite body;
+    if (dataTypeEnum == DataTypeEnum.REQUEST) {
+      Request request = (Request) message;
+      if (hasPayload(request.getArgsValue())) {
+        return encodeStreaming(request, allocator);
+      }
+      body = CattyCodec.toProtocol(request);
+    } else if (dataTypeEnum == DataTypeEnum.RESPONSE) {
+      body = CattyCodec.toProtocol((Response) message);
+    } else {
+      throw new IllegalArgumentException("Unsupported encoder type.");
+    }
+    int bodyLen = body.getSerializedSize();
+    int frameLen = CodedOutputStream.computeUInt32SizeNoTag(bodyLen) + bodyLen;
+    ByteBuf byteBuf = allocator.directBuffer(frameLen, frameLen);
+    try {
+      CodedOutputStream out = CodedOutputStream
+          .newInstance(byteBuf.nioBuffer(byteBuf.writerIndex(), frameLen));
+      out.writeUInt32NoTag(bodyLen);
+      body.writeTo(out);
+      out.flush();
+      byteBuf.writerIndex(byteBuf.writerIndex() + frameLen);
+      return byteBuf;
+    } catch (Exception e) {
+      byteBuf.release();
+      throw new CodecException("Encode error", e);
+    }
+  }
+
+  private ByteBuf encodeStreaming(Request request, ByteBufAllocator allocator) {
+    MessageLite head = CattyCodec.toProtocol(request, false);
+    ByteBuf byteBuf = allocator.directBuffer(PADDED_VARINT_SIZE + head.getSerializedSize() + 256);
+    try {
+      int frameIndex = byteBuf.writerIndex();
+      byteBuf.writerIndex(frameIndex + PADDED_VARINT_SIZE);
+      ByteBufOutputStream out = new ByteBufOutputStream(byteBuf);
+      head.writeTo(out);
+      for (Object arg : request.getArgsValue()) {
+        byteBuf.writeByte(ARGUMENTS_TAG);
+        int lengthIndex = byteBuf.writerIndex();
+        byteBuf.writerIndex(lengthIndex + PADDED_VARINT_SIZE);
+        if (arg instanceof Payload) {
+          ((Payload) arg).writeTo(out);
+        } else {
+          byteBuf.writeBytes((byte[]) arg);
+        }
+        setPaddedVarint(byteBuf, lengthIndex,
+            byteBuf.writerIndex() - lengthIndex - PADDED_VARINT_SIZE);
+      }
+      setPaddedVarint(byteBuf, frameIndex, byteBuf.writerIndex() - frameIndex - PADDED_VARINT_SIZE);
+      return byteBuf;
+    } catch (Exception e) {
+      byteBuf.release();
+      if (e instanceof SerializationException) {
+        throw (SerializationException) e;
+      }
+      throw new CodecException("Encode error", e);
+    }
+  }
+
+  private static boolean hasPayload(Object[] args) {
+    if (args != null) {
+      for (Object arg : args) {
+        if (arg instanceof Payload) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static void setPaddedVarint(ByteBuf byteBuf, int index, int value) {
+    byteBuf.setByte(index, value & 0x7F | 0x80);
+    byteBuf.setByte(index + 1, value >>> 7 & 0x7F | 0x80);
+    byteBuf.setByte(index + 2, value >>> 14 & 0x7F | 0x80);
+    byteBuf.setByte(index + 3, value >>> 21 & 0x7F | 0x80);
+    byteBuf.setByte(index + 4, value >>> 28);
+  }
+
+  @Override
+  public Object decode(ByteBuf data, DataTypeEnum dataTypeEnum) throws CodecException {
+    try {
+      CodedInputStream in = CattyCodec
+          .newAliasingInput(UnsafeByteOperations.unsafeWrap(data.nioBuffer()));
+      if (DataTypeEnum.REQUEST == dataTypeEnum) {
+        return CattyCodec.fromProtocol(CattyProtocol.Request.parseFrom(in));
+      }
+      if (DataTypeEnum.RESPONSE == dataTypeEnum) {
+        return CattyCodec.fromProtocol(CattyProtocol.Response.parseFrom(in));
+      }
+      throw new CodecException("Illegal DataTypeEnum: " + dataTypeEnum);
+    } catch (CodecException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new CodecException("Decode error", e);
+    }
+  }
+
+  @Override
+  public byte[] encode(Object message, DataTypeEnum dataTypeEnum) throws CodecException {
+    ByteBuf byteBuf = encode(message, dataTypeEnum, UnpooledByteBufAllocator.DEFAULT);
+    try {
+      return ByteBufUtil.getBytes(byteBuf);
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @Override
+  public Object decode(byte[] data, DataTypeEnum dataTypeEnum) throws CodecException {
+    return decode(Unpooled.wrappedBuffer(data), dataTypeEnum);
+  }
+}
@@ -15,80 +15,15 @@
 package pink.catty.extension.codec;
 
 import io.netty.buffer.ByteBuf;
-import java.util.List;
-import pink.catty.core.extension.spi.BrokenDataPackageException;
-import pink.catty.core.extension.spi.PackageReader;
 
-public class ProtobufPackageReader implements PackageReader<ByteBuf, byte[]> {
+public class ProtobufPackageReader extends AbstractProtobufPackageReader<byte[]> {
 
   @Override
-  public void readPackage(ByteBuf in, List<byte[]> out) throws BrokenDataPackageException {
-    in.markReaderIndex();
-    int preIndex = in.readerIndex();
-    int length = readRawVarint32(in);
-    if (preIndex == in.readerIndex()) {
-      return;
-    }
-    if (length < 0) {
-      throw new BrokenDataPackageException("negative length: " + length);
-    }
-    if (in.readableBytes() < length) {
-      in.resetReaderIndex();
-    } else {
-      byte[] data = new byte[length];
-      ByteBuf byteBuf = in.readRetainedSlice(length);
-      byteBuf.readBytes(data);
-      byteBuf.release();
-      out.add(data);
-    }
-  }
-
-  private static int readRawVarint32(ByteBuf buffer) throws BrokenDataPackageException {
-    if (!buffer.isReadable()) {
-      return 0;
-    }
-    buffer.markReaderIndex();
-    byte tmp = buffer.readByte();
-    if (tmp >= 0) {
-      return tmp;
-    } else {
-      int result = tmp & 127;
-      if (!buffer.isReadable()) {
-        buffer.resetReaderIndex();
-        return 0;
-      }
-      if ((tmp = buffer.readByte()) >= 0) {
-        result |= tmp << 7;
-      } else {
-        result |= (tmp & 127) << 7;
-        if (!buffer.isReadable()) {
-          buffer.resetReaderIndex();
-          return 0;
-        }
-        if ((tmp = buffer.readByte()) >= 0) {
-          result |= tmp << 14;
-        } else {
-          result |= (tmp & 127) << 14;
-          if (!buffer.isReadable()) {
-            buffer.resetReaderIndex();
-            return 0;
-          }
-          if ((tmp = buffer.readByte()) >= 0) {
-            result |= tmp << 21;
-          } else {
-            result |= (tmp & 127) << 21;
-            if (!buffer.isReadable()) {
-              buffer.resetReaderIndex();
-              return 0;
-            }
-            result |= (tmp = buffer.readByte()) << 28;
-            if (tmp < 0) {
-              throw new BrokenDataPackageException("malformed varint.");
-            }
-          }
-        }
-      }
-      return result;
-    }
+  protected byte[] readFrame(ByteBuf in, int length) {
+    byte[] data = new byte[length];
+    ByteBuf byteBuf = in.readRetainedSlice(length);
+    byteBuf.readBytes(data);
+    byteBuf.release();
+    return data;
   }
 }
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.extension.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Different from {@link ProtobufPackageReader}, data package is a retained slice of inbound buffer
+ * rather than a copy of it. The slice should be released after been decoded.
+ */
+public class ProtobufSlicePackageReader extends AbstractProtobufPackageReader<ByteBuf> {
+
+  @Override
+  protected ByteBuf readFrame(ByteBuf in, int length) {
+    return in.readRetainedSlice(length);
+  }
+}
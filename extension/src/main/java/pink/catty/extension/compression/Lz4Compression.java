@@ -0,0 +1,101 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.extension.compression;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import pink.catty.core.Constants;
+import pink.catty.core.SerializationException;
+import pink.catty.core.extension.Extension;
+import pink.catty.core.extension.ExtensionType.CompressionType;
+import pink.catty.core.extension.spi.Compression;
+
+/**
+ * LZ4 block compression by the java implementation of lz4-java, no native library is loaded.
+ * Compressed data is the original length (4 bytes, big endian) followed by the LZ4 block.
+ *
+ * The original length comes from the peer, data claiming more than maxDecompressedLength bytes is
+ * rejected before anything is allocated.
+ */
+@Extension(CompressionType.LZ4)
+public class Lz4Compression implements Compression {
+
+  private static final int LENGTH_BYTES = 4;
+
+  private final LZ4Compressor compressor;
+  private final LZ4FastDecompressor decompressor;
+  private final int maxDecompressedLength;
+
+  public Lz4Compression() {
+    this(Constants.DEFAULT_MAX_DECOMPRESSED_LENGTH);
+  }
+
+  public Lz4Compression(int maxDecompressedLength) {
+    LZ4Factory factory = LZ4Factory.fastestJavaInstance();
+    this.compressor = factory.fastCompressor();
+    this.decompressor = factory.fastDecompressor();
+    this.maxDecompressedLength = maxDecompressedLength;
+  }
+
+  @Override
+  public byte[] compress(byte[] data) {
+    int maxLength = compressor.maxCompressedLength(data.length);
+    byte[] buffer = new byte[LENGTH_BYTES + maxLength];
+    writeLength(buffer, data.length);
+    int compressedLength = compressor
+        .compress(data, 0, data.length, buffer, LENGTH_BYTES, maxLength);
+    byte[] result = new byte[LENGTH_BYTES + compressedLength];
+    System.arraycopy(buffer, 0, result, 0, result.length);
+    return result;
+  }
+
+  @Override
+  public byte[] decompress(byte[] data) {
+    if (data.length < LENGTH_BYTES) {
+      throw new SerializationException("Broken lz4 data, length: " + data.length);
+    }
+    int length = readLength(data);
+    if (length < 0) {
+      throw new SerializationException("Broken lz4 data, original length: " + length);
+    }
+    if (length > maxDecompressedLength) {
+      throw new SerializationException("Lz4 data too large, original length: " + length
+          + ", max: " + maxDecompressedLength);
+    }
+    byte[] result = new byte[length];
+    try {
+      decompressor.decompress(data, LENGTH_BYTES, result, 0, length);
+    } catch (LZ4Exception e) {
+      throw new SerializationException("Decompress error", e);
+    }
+    return result;
+  }
+
+  private static void writeLength(byte[] buffer, int length) {
+    buffer[0] = (byte) (length >>> 24);
+    buffer[1] = (byte) (length >>> 16);
+    buffer[2] = (byte) (length >>> 8);
+    buffer[3] = (byte) length;
+  }
+
+  private static int readLength(byte[] data) {
+    return (data[0] & 0xFF) << 24
+        | (data[1] & 0xFF) << 16
+        | (data[2] & 0xFF) << 8
+        | data[3] & 0xFF;
+  }
+}
@@ -15,13 +15,15 @@
 package pink.catty.extension.serialization;
 
 import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.serializer.JSONSerializer;
 import com.alibaba.fastjson.serializer.SerializeWriter;
-import com.alibaba.fastjson.serializer.SerializerFeature;
 import com.google.protobuf.GeneratedMessageV3.Builder;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
-import java.lang.reflect.Method;
+import com.google.protobuf.Parser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import pink.catty.core.SerializationException;
 import pink.catty.core.extension.Extension;
 import pink.catty.core.extension.ExtensionType.SerializationType;
@@ -39,31 +41,61 @@ public class CattySerialization implements Serialization {
     if (object instanceof Message) {
       result = ((Message) object).toByteArray();
     } else {
-      SerializeWriter out = new SerializeWriter();
-      JSONSerializer serializer = new JSONSerializer(out);
-      serializer.config(SerializerFeature.WriteEnumUsingToString, true);
-      serializer.config(SerializerFeature.WriteClassName, true);
-      serializer.write(object);
-      result = out.toBytes("UTF-8");
+      SerializeWriter out = FastJsonSerialization.write(object);
+      try {
+        result = out.toBytes("UTF-8");
+      } finally {
+        out.close();
+      }
     }
     return result;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
-  public <T> T deserialize(byte[] bytes, Class<T> clazz) {
-    Builder builder;
+  public void serialize(Object object, OutputStream os) {
+    if (object instanceof Builder) {
+      object = ((Builder) object).build();
+    }
+    SerializeWriter out = null;
     try {
-      Method method = clazz.getMethod("newBuilder");
-      builder = (Builder) method.invoke(null, null);
-    } catch (Exception e) {
-      return JSON.parseObject(new String(bytes), clazz);
+      if (object instanceof Message) {
+        ((Message) object).writeTo(os);
+      } else {
+        out = FastJsonSerialization.write(object);
+        out.writeTo(os, StandardCharsets.UTF_8);
+      }
+    } catch (IOException e) {
+      throw new SerializationException("Serialize error", e);
+    } finally {
+      if (out != null) {
+        out.close();
+      }
+    }
+  }
+
+  @Override
+  public <T> T deserialize(byte[] bytes, Class<T> clazz) {
+    Parser<T> parser = ProtoBufParsers.getParser(clazz);
+    if (parser == null) {
+      return JSON.parseObject(bytes, clazz);
     }
     try {
-      builder.mergeFrom(bytes);
+      return parser.parseFrom(bytes);
     } catch (InvalidProtocolBufferException e) {
       throw new SerializationException("Deserialize error", e);
     }
-    return (T) builder.build();
+  }
+
+  @Override
+  public <T> T deserialize(InputStream in, Class<T> clazz) {
+    Parser<T> parser = ProtoBufParsers.getParser(clazz);
+    try {
+      if (parser == null) {
+        return JSON.parseObject(in, StandardCharsets.UTF_8, clazz);
+      }
+      return parser.parseFrom(in);
+    } catch (IOException e) {
+      throw new SerializationException("Deserialize error", e);
+    }
   }
 }
@@ -18,6 +18,11 @@ import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.serializer.JSONSerializer;
 import com.alibaba.fastjson.serializer.SerializeWriter;
 import com.alibaba.fastjson.serializer.SerializerFeature;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import pink.catty.core.SerializationException;
 import pink.catty.core.extension.Extension;
 import pink.catty.core.extension.ExtensionType.SerializationType;
 import pink.catty.core.extension.spi.Serialization;
@@ -27,16 +32,46 @@ public class FastJsonSerialization implements Serialization {
 
   @Override
   public byte[] serialize(Object object) {
+    SerializeWriter out = write(object);
+    try {
+      return out.toBytes("UTF-8");
+    } finally {
+      out.close();
+    }
+  }
+
+  @Override
+  public void serialize(Object object, OutputStream os) {
+    SerializeWriter out = write(object);
+    try {
+      out.writeTo(os, StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new SerializationException("Serialize error", e);
+    } finally {
+      out.close();
+    }
+  }
+
+  @Override
+  public <T> T deserialize(byte[] bytes, Class<T> clazz) {
+    return JSON.parseObject(bytes, clazz);
+  }
+
+  @Override
+  public <T> T deserialize(InputStream in, Class<T> clazz) {
+    try {
+      return JSON.parseObject(in, StandardCharsets.UTF_8, clazz);
+    } catch (IOException e) {
+      throw new SerializationException("Deserialize error", e);
+    }
+  }
+
+  static SerializeWriter write(Object object) {
     SerializeWriter out = new SerializeWriter();
     JSONSerializer serializer = new JSONSerializer(out);
     serializer.config(SerializerFeature.WriteEnumUsingToString, true);
     serializer.config(SerializerFeature.WriteClassName, true);
     serializer.write(object);
-    return out.toBytes("UTF-8");
-  }
-
-  @Override
-  public <T> T deserialize(byte[] bytes, Class<T> clazz) {
-    return JSON.parseObject(new String(bytes), clazz);
+    return out;
   }
 }
@@ -16,38 +16,130 @@ package pink.catty.extension.serialization;
 
 import com.caucho.hessian.io.Hessian2Input;
 import com.caucho.hessian.io.Hessian2Output;
+import com.caucho.hessian.io.SerializerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import pink.catty.core.SerializationException;
 import pink.catty.core.extension.Extension;
 import pink.catty.core.extension.ExtensionType.SerializationType;
 import pink.catty.core.extension.spi.Serialization;
 
+/**
+ * Hessian2 streams are reused by thread, they are reset between two calls so that buffers and
+ * reference maps are not allocated for every object. Streams share the default SerializerFactory of
+ * the class loader, type lookups are cached by it.
+ */
 @Extension(SerializationType.HESSIAN2)
 public class Hessian2Serialization implements Serialization {
 
+  private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
   @Override
   public byte[] serialize(Object object) {
-    ByteArrayOutputStream bos = new ByteArrayOutputStream();
-    Hessian2Output out = new Hessian2Output(bos);
+    Context context = acquire();
     try {
-      out.writeObject(object);
-      out.flush();
-    } catch (IOException e) {
-      throw new SerializationException("Hessian2 serialization error", e);
+      serialize(context.out, object, context.bos);
+      return context.bos.toByteArray();
+    } finally {
+      release(context);
+    }
+  }
+
+  @Override
+  public void serialize(Object object, OutputStream os) {
+    Context context = acquire();
+    try {
+      serialize(context.out, object, os);
+    } finally {
+      release(context);
     }
-    return bos.toByteArray();
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public <T> T deserialize(byte[] bytes, Class<T> clazz) {
-    Hessian2Input input = new Hessian2Input(new ByteArrayInputStream(bytes));
+    return deserialize(new ByteArrayInputStream(bytes), clazz);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <T> T deserialize(InputStream is, Class<T> clazz) {
+    Context context = acquire();
+    Hessian2Input input = context.in;
+    boolean failed = true;
     try {
-    return (T) input.readObject(clazz);
+      input.init(is);
+      T value = (T) input.readObject(clazz);
+      failed = false;
+      return value;
     } catch (IOException e) {
       throw new SerializationException("Hessian2 de-serialization error", e);
+    } finally {
+      input.resetReferences();
+      release(context);
+      if (failed) {
+        // a failed read leaves unread bytes in the input's buffer, init() does not clear them.
+        discard(context);
+      }
+    }
+  }
+
+  private static void serialize(Hessian2Output out, Object object, OutputStream os) {
+    try {
+      out.init(os);
+      out.writeObject(object);
+      out.flushBuffer();
+    } catch (IOException e) {
+      throw new SerializationException("Hessian2 serialization error", e);
+    } finally {
+      out.resetReferences();
+    }
+  }
+
+  /*
+   * If the thread's context is in use, this is a nested call from a custom serializer, use a new
+   * context instead.
+   */
+  private static Context acquire() {
+    Context context = CONTEXT.get();
+    if (context.inUse) {
+      return new Context();
+    }
+    context.inUse = true;
+    context.bos.reset();
+    return context;
+  }
+
+  private static void release(Context context) {
+    context.inUse = false;
+    if (context.bos.size() > Context.MAX_RETAINED_BUFFER) {
+      // don't hold a large buffer forever.
+      context.bos = new ByteArrayOutputStream(Context.INITIAL_BUFFER);
+    }
+  }
+
+  private static void discard(Context context) {
+    if (CONTEXT.get() == context) {
+      CONTEXT.remove();
+    }
+  }
+
+  private static final class Context {
+
+    private static final int INITIAL_BUFFER = 256;
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Hessian2Output out = new Hessian2Output();
+    private final Hessian2Input in = new Hessian2Input();
+    private ByteArrayOutputStream bos = new ByteArrayOutputStream(INITIAL_BUFFER);
+    private boolean inUse;
+
+    private Context() {
+      SerializerFactory serializerFactory = SerializerFactory.createDefault();
+      out.setSerializerFactory(serializerFactory);
+      in.setSerializerFactory(serializerFactory);
     }
   }
 }
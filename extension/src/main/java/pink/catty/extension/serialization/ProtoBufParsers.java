@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.extension.serialization;
+
+import com.google.protobuf.Message;
+import com.google.protobuf.Parser;
+
+/**
+ * Parser of protobuf message classes, resolved once by class. Classes which are not protobuf
+ * messages are resolved to null.
+ */
+final class ProtoBufParsers {
+
+  private static final ClassValue<Parser<?>> PARSERS = new ClassValue<Parser<?>>() {
+    @Override
+    protected Parser<?> computeValue(Class<?> type) {
+      if (!Message.class.isAssignableFrom(type)) {
+        return null;
+      }
+      try {
+        return (Parser<?>) type.getMethod("parser").invoke(null);
+      } catch (Exception e) {
+        // messages generated by old protoc have no parser() method.
+      }
+      try {
+        return ((Message) type.getMethod("getDefaultInstance").invoke(null)).getParserForType();
+      } catch (Exception e) {
+        return null;
+      }
+    }
+  };
+
+  private ProtoBufParsers() {
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> Parser<T> getParser(Class<T> clazz) {
+    return (Parser<T>) PARSERS.get(clazz);
+  }
+}
@@ -17,7 +17,10 @@ package pink.catty.extension.serialization;
 import com.google.protobuf.GeneratedMessageV3.Builder;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Message;
-import java.lang.reflect.Method;
+import com.google.protobuf.Parser;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import pink.catty.core.SerializationException;
 import pink.catty.core.extension.Extension;
 import pink.catty.core.extension.ExtensionType.SerializationType;
@@ -42,21 +45,45 @@ public class ProtoBufSerialization implements Serialization {
     return result;
   }
 
-  @SuppressWarnings("unchecked")
+  @Override
+  public void serialize(Object object, OutputStream out) {
+    if (object instanceof Builder) {
+      object = ((Builder) object).build();
+    }
+    if (!(object instanceof Message)) {
+      throw new SerializationException(
+          "Object's class: " + object.getClass() + " isn't instance of Builder or Message.");
+    }
+    try {
+      ((Message) object).writeTo(out);
+    } catch (IOException e) {
+      throw new SerializationException("Serialize error", e);
+    }
+  }
+
   @Override
   public <T> T deserialize(byte[] bytes, Class<T> clazz) {
-    Builder builder;
     try {
-      Method method = clazz.getMethod("newBuilder");
-      builder = (Builder) method.invoke(null, null);
-    } catch (Exception e) {
-      throw new SerializationException("Class: " + clazz + " couldn't find newBuilder method.");
+      return getParser(clazz).parseFrom(bytes);
+    } catch (InvalidProtocolBufferException e) {
+      throw new SerializationException("Deserialize error", e);
     }
+  }
+
+  @Override
+  public <T> T deserialize(InputStream in, Class<T> clazz) {
     try {
-      builder.mergeFrom(bytes);
+      return getParser(clazz).parseFrom(in);
     } catch (InvalidProtocolBufferException e) {
       throw new SerializationException("Deserialize error", e);
     }
-    return (T) builder.build();
+  }
+
+  private static <T> Parser<T> getParser(Class<T> clazz) {
+    Parser<T> parser = ProtoBufParsers.getParser(clazz);
+    if (parser == null) {
+      throw new SerializationException("Class: " + clazz + " isn't a protobuf message.");
+    }
+    return parser;
   }
 }
@@ -19,10 +19,14 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import pink.catty.core.CattyException;
 import pink.catty.core.EndpointInvalidException;
+import pink.catty.core.EndpointOverloadException;
 import pink.catty.core.RpcTimeoutException;
+import pink.catty.core.ServerBusyException;
 import pink.catty.core.invoker.Consumer;
 import pink.catty.core.invoker.Invocation;
 import pink.catty.core.invoker.cluster.AbstractCluster;
+import pink.catty.core.invoker.endpoint.BackpressurePolicy;
+import pink.catty.core.invoker.frame.DefaultResponse;
 import pink.catty.core.invoker.frame.Request;
 import pink.catty.core.invoker.frame.Response;
 import pink.catty.core.meta.ClusterMeta;
@@ -44,6 +48,7 @@ public class FailOverCluster extends AbstractCluster {
     }
 
     Response response = null;
+    EndpointOverloadException overload = null;
     for (int i = 0; i <= Math.max(retryTimes, invokerList.size()); i++) {
       try {
         response = consumer.invoke(request, invocation);
@@ -53,8 +58,25 @@ public class FailOverCluster extends AbstractCluster {
           } catch (InterruptedException | ExecutionException | TimeoutException e) {
             throw new HealthCheckException("Invoke error", e, null);
           }
+          if (response.getValue() instanceof ServerBusyException
+              && i < Math.max(retryTimes, invokerList.size()) && invokerList.size() > 1) {
+            // the server is healthy but busy, try another one.
+            consumer = selectAnother(consumer);
+            continue;
+          }
+        } else {
+          response = retryWhenBusy(consumer, request, invocation, response,
+              Math.max(retryTimes, invokerList.size()) - i);
         }
         break;
+      } catch (EndpointOverloadException e) {
+        // the endpoint is still valid, spill over to another one if possible.
+        if (!BackpressurePolicy.SPILL_OVER.equals(clusterMeta.getBackpressurePolicy())
+            || invokerList.size() <= 1) {
+          throw e;
+        }
+        overload = e;
+        consumer = selectAnother(consumer);
       } catch (HealthCheckException | EndpointInvalidException | RpcTimeoutException e) {
         String metaString = consumer.getMeta().toString();
         logger.error(
@@ -71,11 +93,55 @@ public class FailOverCluster extends AbstractCluster {
     if (response != null) {
       return response;
     }
+    if (overload != null) {
+      throw overload;
+    }
     logger.error("RecoveryCluster, after retry: {}, not found valid endpoint.", retryTimes);
     throw new CattyException(
         "RecoveryCluster, after retry: " + retryTimes + ", not found valid endpoint.");
   }
 
+  /*
+   * Without timeout the response is not waited for, a busy reply is retried by another endpoint
+   * when it arrives. If the retry could not be sent, the busy reply is returned.
+   */
+  private Response retryWhenBusy(Consumer consumer, Request request, Invocation invocation,
+      Response response, int retries) {
+    if (retries <= 0) {
+      return response;
+    }
+    Response result = new DefaultResponse(request.getRequestId());
+    response.whenComplete((value, throwable) -> {
+      if (response.getValue() instanceof ServerBusyException && invokerList.size() > 1) {
+        try {
+          Consumer next = selectAnother(consumer);
+          Response retried = retryWhenBusy(next, request, invocation,
+              next.invoke(request, invocation), retries - 1);
+          retried.whenComplete((v, t) -> complete(result, retried, t));
+          return;
+        } catch (RuntimeException e) {
+          logger.warn("Cluster: retry busy reply error.", e);
+        }
+      }
+      complete(result, response, throwable);
+    });
+    return result;
+  }
+
+  private static void complete(Response result, Response response, Throwable throwable) {
+    result.setServiceId(response.getServiceId());
+    result.setMethodId(response.getMethodId());
+    result.setValue(throwable != null ? throwable : response.getValue());
+  }
+
+  private Consumer selectAnother(Consumer current) {
+    Consumer next = loadBalance.select(invokerList);
+    if (next == current) {
+      next = invokerList.get((invokerList.indexOf(current) + 1) % invokerList.size());
+    }
+    return next;
+  }
+
   protected void processError(Consumer consumer, Request request, Invocation invocation,
       Throwable e) {
 
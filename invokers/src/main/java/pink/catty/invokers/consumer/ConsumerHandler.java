@@ -16,11 +16,17 @@ package pink.catty.invokers.consumer;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import pink.catty.core.CattyException;
+import pink.catty.core.Constants;
 import pink.catty.core.RpcTimeoutException;
 import pink.catty.core.invoker.Invocation;
 import pink.catty.core.invoker.MethodNotFoundException;
@@ -32,32 +38,65 @@ import pink.catty.core.service.MethodModel;
 import pink.catty.core.service.ServiceModel;
 import pink.catty.core.utils.RequestIdGenerator;
 
+/**
+ * Invokes the cluster for a consumer proxy. MethodModel, timeout and one-way flag of every method
+ * are resolved into a {@link MethodBinding} when the handler is created.
+ *
+ * {@link #getProxy(ServiceModel, Cluster)} generates a proxy class for a public interface, whose
+ * methods pass their own binding to {@link #invoke(Object, MethodBinding, Object[])}. A non-public
+ * interface can not be implemented by a class of another class loader, its proxy is a {@link Proxy}
+ * looking the binding up by Method.
+ */
 public class ConsumerHandler<T>
     implements InvocationHandler {
 
+  private static final Logger logger = LoggerFactory.getLogger(ConsumerHandler.class);
+
   private Cluster cluster;
   private ServiceModel serviceModel;
 
+  /*
+   * Everything needed by an invocation which could be resolved before, indexed by
+   * MethodModel#getIndex(), and keyed by interface method for Proxy. Never modified after
+   * construction.
+   */
+  private final MethodBinding[] bindings;
+  private final Map<Method, MethodBinding> bindingMap;
+
   public ConsumerHandler(ServiceModel<T> serviceModel, Cluster cluster) {
     this.cluster = cluster;
     this.serviceModel = serviceModel;
+    this.bindings = new MethodBinding[serviceModel.getMethodModels().size()];
+    this.bindingMap = new HashMap<>();
+    for (MethodModel methodModel : serviceModel.getMethodModels()) {
+      MethodBinding binding = new MethodBinding(serviceModel, methodModel);
+      bindings[methodModel.getIndex()] = binding;
+      bindingMap.put(methodModel.getMethod(), binding);
+    }
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
 
-    /*
-     * check if method valid.
-     */
-    if (!serviceModel.getValidMethod().contains(method)) {
-      throw new CattyException("Can not invoke local method: " + method.getName());
-    }
-
-    MethodModel methodModel = serviceModel.getMethodMeta(method);
-    if (methodModel == null) {
+    MethodBinding binding = bindingMap.get(method);
+    if (binding == null) {
+      /*
+       * check if method valid.
+       */
+      if (!serviceModel.getValidMethod().contains(method)) {
+        throw new CattyException("Can not invoke local method: " + method.getName());
+      }
       throw new MethodNotFoundException("Method is invalid, method: " + method.getName());
     }
+    return invoke(proxy, binding, args);
+  }
+
+  /**
+   * Called by generated proxies, which hold the binding of each method.
+   */
+  @SuppressWarnings("unchecked")
+  public Object invoke(Object proxy, MethodBinding binding, Object[] args) throws Throwable {
+    MethodModel methodModel = binding.methodModel;
 
     Request request = new DefaultRequest();
     request.setRequestId(RequestIdGenerator.next());
@@ -65,7 +104,8 @@ public class ConsumerHandler<T>
     request.setMethodName(methodModel.getName());
     request.setArgsValue(args);
 
-    Class<?> returnType = method.getReturnType();
+    int delay = binding.timeout;
+    request.setTimeout(delay);
 
     Invocation invocation = new Invocation();
     invocation.setInvokedMethod(methodModel);
@@ -74,7 +114,7 @@ public class ConsumerHandler<T>
 
     Response response = invoke(request, invocation);
 
-    if (returnType == Void.TYPE && !methodModel.isNeedReturn()) {
+    if (binding.oneWay) {
       return null;
     }
     // async-method
@@ -96,14 +136,6 @@ public class ConsumerHandler<T>
     }
 
     // sync-method
-    int delay = invocation.getInvokedMethod().getTimeout();
-    if (delay <= 0) {
-      delay = invocation.getServiceModel().getTimeout();
-    }
-    if (delay <= 0) {
-      delay = 30 * 1000;
-    }
-
     try {
       response.await(delay, TimeUnit.MILLISECONDS);
     } catch (TimeoutException e) {
@@ -118,6 +150,38 @@ public class ConsumerHandler<T>
     return response.getValue();
   }
 
+  /**
+   * What an invocation of one method needs besides its arguments, opaque to generated proxies.
+   */
+  public static final class MethodBinding {
+
+    private final MethodModel methodModel;
+
+    /*
+     * method's timeout, or service's timeout, or the default timeout.
+     */
+    private final int timeout;
+
+    /*
+     * void method which not need return, caller never waits for it.
+     */
+    private final boolean oneWay;
+
+    private MethodBinding(ServiceModel serviceModel, MethodModel methodModel) {
+      int timeout = methodModel.getTimeout();
+      if (timeout <= 0) {
+        timeout = serviceModel.getTimeout();
+      }
+      if (timeout <= 0) {
+        timeout = Constants.DEFAULT_REQUEST_TIMEOUT;
+      }
+      this.methodModel = methodModel;
+      this.timeout = timeout;
+      this.oneWay = methodModel.getMethod().getReturnType() == Void.TYPE
+          && !methodModel.isNeedReturn();
+    }
+  }
+
   private Response invoke(Request request, Invocation invocation) {
     return cluster.invoke(request, invocation);
   }
@@ -125,7 +189,15 @@ public class ConsumerHandler<T>
   @SuppressWarnings("unchecked")
   public static <E> E getProxy(ServiceModel serviceModel, Cluster cluster) {
     Class<E> clazz = serviceModel.getInterfaceClass();
-    return (E) Proxy.newProxyInstance(clazz.getClassLoader(), new Class[]{clazz},
-        new ConsumerHandler(serviceModel, cluster));
+    ConsumerHandler handler = new ConsumerHandler(serviceModel, cluster);
+    if (Modifier.isPublic(clazz.getModifiers())) {
+      try {
+        return (E) ConsumerProxyGenerator.newProxy(clazz, handler, handler.bindings);
+      } catch (RuntimeException | LinkageError e) {
+        logger.warn("ConsumerHandler: generate proxy error, use java.lang.reflect.Proxy instead, "
+            + "interface: " + clazz.getName(), e);
+      }
+    }
+    return (E) Proxy.newProxyInstance(clazz.getClassLoader(), new Class[]{clazz}, handler);
   }
 }
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.invokers.consumer;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.AASTORE;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ANEWARRAY;
+import static org.objectweb.asm.Opcodes.ARETURN;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.ATHROW;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.IRETURN;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.PUTFIELD;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V1_8;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+import pink.catty.core.CattyException;
+import pink.catty.core.service.MethodModel;
+import pink.catty.core.service.ServiceModel;
+import pink.catty.invokers.consumer.ConsumerHandler.MethodBinding;
+
+/**
+ * Generates one proxy class per public service interface. Every method of the proxy boxes its
+ * arguments and calls {@link ConsumerHandler#invoke(Object, MethodBinding, Object[])} with the
+ * binding held by its own field, so there is neither reflection nor lookup per call.
+ *
+ * Like {@link java.lang.reflect.Proxy}, exceptions which are neither unchecked nor declared by the
+ * method are wrapped by {@link java.lang.reflect.UndeclaredThrowableException}. Methods of Object
+ * are not proxied.
+ */
+final class ConsumerProxyGenerator {
+
+  private static final String HANDLER = Type.getInternalName(ConsumerHandler.class);
+  private static final String BINDING_DESC = Type.getDescriptor(MethodBinding.class);
+  private static final String INVOKE_DESC = "(Ljava/lang/Object;" + BINDING_DESC
+      + "[Ljava/lang/Object;)Ljava/lang/Object;";
+  private static final String UNDECLARED = "java/lang/reflect/UndeclaredThrowableException";
+  private static final String PROXY_PREFIX = "pink/catty/invokers/consumer/ConsumerProxy$";
+
+  private static final AtomicInteger COUNTER = new AtomicInteger();
+
+  /*
+   * Constructor(ConsumerHandler, MethodBinding[]) of the proxy class, by interface.
+   */
+  private static final ClassValue<Constructor<?>> PROXY_CLASSES = new ClassValue<Constructor<?>>() {
+    @Override
+    protected Constructor<?> computeValue(Class<?> type) {
+      return generate(type);
+    }
+  };
+
+  private ConsumerProxyGenerator() {
+  }
+
+  /**
+   * bindings are indexed by {@link MethodModel#getIndex()}.
+   */
+  static Object newProxy(Class<?> interfaceClass, ConsumerHandler handler,
+      MethodBinding[] bindings) {
+    try {
+      return PROXY_CLASSES.get(interfaceClass).newInstance(handler, bindings);
+    } catch (ReflectiveOperationException e) {
+      throw new CattyException("Create proxy error, interface: " + interfaceClass.getName(), e);
+    }
+  }
+
+  private static Constructor<?> generate(Class<?> interfaceClass) {
+    String className = PROXY_PREFIX + interfaceClass.getSimpleName() + "$"
+        + COUNTER.incrementAndGet();
+    ProxyClassLoader classLoader = new ProxyClassLoader(interfaceClass.getClassLoader());
+    ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+      @Override
+      protected ClassLoader getClassLoader() {
+        return classLoader;
+      }
+    };
+    cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, className, null, "java/lang/Object",
+        new String[]{Type.getInternalName(interfaceClass)});
+    cw.visitField(ACC_PRIVATE | ACC_FINAL, "handler", "L" + HANDLER + ";", null, null).visitEnd();
+
+    ServiceModel<?> serviceModel = ServiceModel.parse(interfaceClass);
+    MethodVisitor init = cw.visitMethod(ACC_PUBLIC, "<init>",
+        "(L" + HANDLER + ";[" + BINDING_DESC + ")V", null, null);
+    init.visitCode();
+    init.visitVarInsn(ALOAD, 0);
+    init.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+    init.visitVarInsn(ALOAD, 0);
+    init.visitVarInsn(ALOAD, 1);
+    init.visitFieldInsn(PUTFIELD, className, "handler", "L" + HANDLER + ";");
+    for (MethodModel methodModel : serviceModel.getMethodModels()) {
+      if (Modifier.isStatic(methodModel.getMethod().getModifiers())) {
+        continue;
+      }
+      String field = "binding" + methodModel.getIndex();
+      cw.visitField(ACC_PRIVATE | ACC_FINAL, field, BINDING_DESC, null, null).visitEnd();
+      init.visitVarInsn(ALOAD, 0);
+      init.visitVarInsn(ALOAD, 2);
+      pushInt(init, methodModel.getIndex());
+      init.visitInsn(AALOAD);
+      init.visitFieldInsn(PUTFIELD, className, field, BINDING_DESC);
+      generateMethod(cw, className, field, methodModel.getMethod());
+    }
+    init.visitInsn(RETURN);
+    init.visitMaxs(0, 0);
+    init.visitEnd();
+    cw.visitEnd();
+
+    Class<?> proxyClass = classLoader.define(className.replace('/', '.'), cw.toByteArray());
+    try {
+      return proxyClass.getConstructor(ConsumerHandler.class, MethodBinding[].class);
+    } catch (NoSuchMethodException e) {
+      throw new CattyException("Generate proxy error, interface: " + interfaceClass.getName(), e);
+    }
+  }
+
+  private static void generateMethod(ClassWriter cw, String className, String field,
+      Method method) {
+    Class<?>[] exceptionTypes = method.getExceptionTypes();
+    String[] exceptions = new String[exceptionTypes.length];
+    for (int i = 0; i < exceptionTypes.length; i++) {
+      exceptions[i] = Type.getInternalName(exceptionTypes[i]);
+    }
+    MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, method.getName(),
+        Type.getMethodDescriptor(method), null, exceptions);
+    mv.visitCode();
+
+    // rethrow unchecked and declared exceptions, wrap the others. Every catch has its own label.
+    Label start = new Label();
+    Label end = new Label();
+    String[] rethrown = new String[exceptions.length + 2];
+    rethrown[0] = "java/lang/RuntimeException";
+    rethrown[1] = "java/lang/Error";
+    System.arraycopy(exceptions, 0, rethrown, 2, exceptions.length);
+    Label[] rethrowHandlers = new Label[rethrown.length];
+    for (int i = 0; i < rethrown.length; i++) {
+      rethrowHandlers[i] = new Label();
+      mv.visitTryCatchBlock(start, end, rethrowHandlers[i], rethrown[i]);
+    }
+    Label wrapHandler = new Label();
+    mv.visitTryCatchBlock(start, end, wrapHandler, "java/lang/Throwable");
+
+    mv.visitLabel(start);
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitFieldInsn(GETFIELD, className, "handler", "L" + HANDLER + ";");
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitVarInsn(ALOAD, 0);
+    mv.visitFieldInsn(GETFIELD, className, field, BINDING_DESC);
+    Type[] argumentTypes = Type.getArgumentTypes(method);
+    pushInt(mv, argumentTypes.length);
+    mv.visitTypeInsn(ANEWARRAY, "java/lang/Object");
+    int slot = 1;
+    for (int i = 0; i < argumentTypes.length; i++) {
+      mv.visitInsn(DUP);
+      pushInt(mv, i);
+      mv.visitVarInsn(argumentTypes[i].getOpcode(ILOAD), slot);
+      box(mv, argumentTypes[i]);
+      mv.visitInsn(AASTORE);
+      slot += argumentTypes[i].getSize();
+    }
+    mv.visitMethodInsn(INVOKEVIRTUAL, HANDLER, "invoke", INVOKE_DESC, false);
+    Type returnType = Type.getReturnType(method);
+    if (returnType.getSort() == Type.VOID) {
+      mv.visitInsn(POP);
+      mv.visitInsn(RETURN);
+    } else if (returnType.getSort() == Type.OBJECT || returnType.getSort() == Type.ARRAY) {
+      mv.visitTypeInsn(CHECKCAST, returnType.getInternalName());
+      mv.visitInsn(ARETURN);
+    } else {
+      unbox(mv, returnType);
+      mv.visitInsn(returnType.getOpcode(IRETURN));
+    }
+    mv.visitLabel(end);
+
+    for (Label handler : rethrowHandlers) {
+      mv.visitLabel(handler);
+      mv.visitInsn(ATHROW);
+    }
+    mv.visitLabel(wrapHandler);
+    mv.visitVarInsn(ASTORE, slot);
+    mv.visitTypeInsn(NEW, UNDECLARED);
+    mv.visitInsn(DUP);
+    mv.visitVarInsn(ALOAD, slot);
+    mv.visitMethodInsn(INVOKESPECIAL, UNDECLARED, "<init>", "(Ljava/lang/Throwable;)V", false);
+    mv.visitInsn(ATHROW);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+  }
+
+  private static void pushInt(MethodVisitor mv, int value) {
+    if (value <= 5) {
+      mv.visitInsn(ICONST_0 + value);
+    } else if (value <= Byte.MAX_VALUE) {
+      mv.visitIntInsn(BIPUSH, value);
+    } else {
+      mv.visitIntInsn(SIPUSH, value);
+    }
+  }
+
+  private static void box(MethodVisitor mv, Type type) {
+    String wrapper = wrapperOf(type);
+    if (wrapper != null) {
+      mv.visitMethodInsn(INVOKESTATIC, wrapper, "valueOf",
+          "(" + type.getDescriptor() + ")L" + wrapper + ";", false);
+    }
+  }
+
+  /*
+   * Like Proxy, a null value for a primitive return type throws NullPointerException.
+   */
+  private static void unbox(MethodVisitor mv, Type type) {
+    String wrapper = wrapperOf(type);
+    mv.visitTypeInsn(CHECKCAST, wrapper);
+    mv.visitMethodInsn(INVOKEVIRTUAL, wrapper, type.getClassName() + "Value",
+        "()" + type.getDescriptor(), false);
+  }
+
+  private static String wrapperOf(Type type) {
+    switch (type.getSort()) {
+      case Type.BOOLEAN:
+        return "java/lang/Boolean";
+      case Type.CHAR:
+        return "java/lang/Character";
+      case Type.BYTE:
+        return "java/lang/Byte";
+      case Type.SHORT:
+        return "java/lang/Short";
+      case Type.INT:
+        return "java/lang/Integer";
+      case Type.FLOAT:
+        return "java/lang/Float";
+      case Type.LONG:
+        return "java/lang/Long";
+      case Type.DOUBLE:
+        return "java/lang/Double";
+      default:
+        return null;
+    }
+  }
+
+  /*
+   * Sees the service interface by its class loader, and always this copy of ConsumerHandler.
+   */
+  private static final class ProxyClassLoader extends ClassLoader {
+
+    ProxyClassLoader(ClassLoader parent) {
+      super(parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+      if (name.equals(ConsumerHandler.class.getName())) {
+        return ConsumerHandler.class;
+      }
+      if (name.equals(MethodBinding.class.getName())) {
+        return MethodBinding.class;
+      }
+      return super.loadClass(name, resolve);
+    }
+
+    Class<?> define(String name, byte[] bytes) {
+      return defineClass(name, bytes, 0, bytes.length);
+    }
+  }
+}
@@ -14,23 +14,27 @@
  */
 package pink.catty.invokers.consumer;
 
-import java.util.concurrent.CompletionStage;
-import pink.catty.core.CattyException;
+import java.io.ByteArrayInputStream;
+import pink.catty.core.extension.ExtensionFactory;
 import pink.catty.core.extension.spi.Serialization;
 import pink.catty.core.invoker.AbstractConsumer;
 import pink.catty.core.invoker.Consumer;
 import pink.catty.core.invoker.Invocation;
 import pink.catty.core.invoker.endpoint.Empty;
-import pink.catty.core.invoker.frame.DefaultRequest;
+import pink.catty.core.invoker.frame.CompressedValue;
+import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.ErrorFrame;
+import pink.catty.core.invoker.frame.Payload;
 import pink.catty.core.invoker.frame.Request;
 import pink.catty.core.invoker.frame.Response;
 import pink.catty.core.service.MethodModel;
-import pink.catty.core.utils.AsyncUtils;
+import pink.catty.core.support.CompressionMetrics;
 import pink.catty.core.utils.ExceptionUtils;
 
 public class ConsumerSerialization extends AbstractConsumer {
 
   private Serialization serialization;
+  private final CompressionMetrics decompressionMetrics = new CompressionMetrics();
 
   public ConsumerSerialization(Consumer next, Serialization serialization) {
     super(next);
@@ -40,63 +44,73 @@ public class ConsumerSerialization extends AbstractConsumer {
     this.serialization = serialization;
   }
 
+  public CompressionMetrics getDecompressionMetrics() {
+    return decompressionMetrics;
+  }
+
   @Override
   public Response invoke(Request request, Invocation invocation) {
-    request = new DefaultRequest(request.getRequestId(), request.getInterfaceName(),
-        request.getMethodName(), request.getArgsValue());
-
-    MethodModel methodModel = invocation.getInvokedMethod();
+    /*
+     * The request is owned by this invocation, arguments are replaced by payloads which are
+     * serialized by codec into the outbound frame. A retry of the same invocation has payloads
+     * already.
+     */
     Object[] args = request.getArgsValue();
-    if (args != null) {
-      Object[] afterSerialize = new Object[args.length];
+    if (args != null && !invocation.isArgsSerialized()) {
+      Object[] payloads = new Object[args.length];
       for (int i = 0; i < args.length; i++) {
-        afterSerialize[i] = serialization.serialize(args[i]);
+        payloads[i] = new Payload(serialization, args[i]);
       }
-      request.setArgsValue(afterSerialize);
+      request.setArgsValue(payloads);
+      invocation.setArgsSerialized(true);
     }
+    request.setAcceptCompression(true);
 
+    MethodModel methodModel = invocation.getInvokedMethod();
     Response response = next.invoke(request, invocation);
-
-    CompletionStage<Object> newResponse = response.thenApply(returnValue -> {
-      if (!(returnValue instanceof byte[])) {
-        return returnValue;
+    Response newResponse = new DefaultResponse(request.getRequestId());
+    response.whenComplete((returnValue, throwable) -> {
+      if (throwable != null) {
+        newResponse.setValue(throwable);
+        return;
       }
-      byte[] bytes = (byte[]) returnValue;
-      byte[] data = new byte[bytes.length - 1];
-      System.arraycopy(bytes, 1, data, 0, data.length);
-      if (bytes[0] == 1) { // exception occurred.
-        String exceptionString = serialization.deserialize(data, String.class);
-        String[] exceptionInfo = ExceptionUtils.parseExceptionString(exceptionString);
-        String exceptionClassName = exceptionInfo[0];
-        String exceptionFullStack = exceptionInfo[1];
-        if (methodModel.containsCheckedException(exceptionClassName)) {
-          Class<?> exceptionClass = methodModel.getCheckedExceptionByName(exceptionClassName);
-          return ExceptionUtils.getInstance(exceptionClass, exceptionFullStack);
-        } else {
-          try {
-            Class<?> exceptionClass = Class.forName(exceptionClassName);
-            return ExceptionUtils.getInstance(exceptionClass, exceptionFullStack);
-          } catch (ClassNotFoundException e) {
-            return new CattyException(exceptionFullStack);
-          }
-        }
-      } else if (bytes[0] == 0) {
-        Object result;
-        if (methodModel.isAsync()) {
-          result = serialization.deserialize(data, methodModel.getGenericReturnType());
-        } else {
-          if (methodModel.isNeedReturn() && methodModel.getReturnType() == Void.TYPE) {
-            result = serialization.deserialize(data, Empty.class);
-          } else {
-            result = serialization.deserialize(data, methodModel.getReturnType());
-          }
-        }
-        return result;
-      } else {
-        return new Error("Unknown serialization head byte:" + bytes[0] + " except 0 or 1");
+      try {
+        newResponse.setValue(deserialize(methodModel, returnValue));
+      } catch (Exception e) {
+        newResponse.setValue(e);
       }
     });
-    return AsyncUtils.newResponse(newResponse, request.getRequestId());
+    return newResponse;
+  }
+
+  private Object deserialize(MethodModel methodModel, Object returnValue) {
+    if (returnValue instanceof ErrorFrame) { // exception occurred.
+      return ExceptionUtils.readException(
+          new ByteArrayInputStream(((ErrorFrame) returnValue).getBytes()), methodModel);
+    }
+    if (returnValue instanceof CompressedValue) {
+      returnValue = decompress((CompressedValue) returnValue);
+    }
+    if (!(returnValue instanceof byte[])) {
+      return returnValue;
+    }
+    byte[] bytes = (byte[]) returnValue;
+    if (methodModel.isAsync()) {
+      return serialization.deserialize(bytes, methodModel.getGenericReturnType());
+    }
+    if (methodModel.isNeedReturn() && methodModel.getReturnType() == Void.TYPE) {
+      return serialization.deserialize(bytes, Empty.class);
+    }
+    return serialization.deserialize(bytes, methodModel.getReturnType());
+  }
+
+  private byte[] decompress(CompressedValue value) {
+    long start = System.nanoTime();
+    byte[] bytes = ExtensionFactory.getCompression()
+        .getExtensionSingleton(value.getCompressionType())
+        .decompress(value.getBytes());
+    decompressionMetrics.record(bytes.length, value.getBytes().length, System.nanoTime() - start);
+    return bytes;
   }
 
 }
@@ -34,8 +34,7 @@ public class ClientChannelHandler extends ChannelDuplexHandler {
 
   @Override
   public void channelRead(ChannelHandlerContext ctx, Object msg) {
-    byte[] data = (byte[]) msg;
-    Object object = nettyClient.getCodec().decode(data, DataTypeEnum.RESPONSE);
+    Object object = NettyCodecSupport.decode(nettyClient.getCodec(), msg, DataTypeEnum.RESPONSE);
     if (!(object instanceof Response)) {
       throw new CattyException(
           "NettyChannelHandler: unsupported message type when encode: " + object
@@ -44,6 +43,12 @@ public class ClientChannelHandler extends ChannelDuplexHandler {
     processResponse((Response) object);
   }
 
+  @Override
+  public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+    nettyClient.onWritabilityChanged();
+    super.channelWritabilityChanged(ctx);
+  }
+
   @Override
   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
     logger.error("Uncaught exception.", cause);
@@ -51,6 +56,12 @@ public class ClientChannelHandler extends ChannelDuplexHandler {
 
   private void processResponse(Response response) {
     Response future = nettyClient.getResponseFuture(response.getRequestId());
+    if (future == null) {
+      logger.warn("Response of request: {} is stale, discard it.", response.getRequestId());
+      return;
+    }
+    future.setServiceId(response.getServiceId());
+    future.setMethodId(response.getMethodId());
     future.setValue(response.getValue());
   }
 
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.invokers.endpoint;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import pink.catty.core.Constants;
+
+/**
+ * The IO event loop groups shared by all clients of this process, one group per transport. A group
+ * is created when the first client acquires it and is shutdown when the last client releases it.
+ */
+abstract class ClientEventLoopGroup {
+
+  private static final EventLoopGroup[] eventLoopGroups =
+      new EventLoopGroup[NettyTransport.values().length];
+  private static final int[] refCnts = new int[NettyTransport.values().length];
+
+  static synchronized EventLoopGroup acquire(NettyTransport transport) {
+    int i = transport.ordinal();
+    if (refCnts[i]++ == 0) {
+      eventLoopGroups[i] = transport.newEventLoopGroup(Constants.THREAD_NUMBER,
+          new DefaultThreadFactory("catty-client-" + transport.name().toLowerCase()));
+    }
+    return eventLoopGroups[i];
+  }
+
+  static synchronized void release(NettyTransport transport) {
+    int i = transport.ordinal();
+    if (refCnts[i] <= 0) {
+      return;
+    }
+    if (--refCnts[i] == 0) {
+      eventLoopGroups[i].shutdownGracefully();
+      eventLoopGroups[i] = null;
+    }
+  }
+
+  static synchronized int refCnt(NettyTransport transport) {
+    return refCnts[transport.ordinal()];
+  }
+}
@@ -22,11 +22,13 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import pink.catty.core.Constants;
 import pink.catty.core.EndpointInvalidException;
+import pink.catty.core.SerializationException;
 import pink.catty.core.extension.spi.Codec;
 import pink.catty.core.extension.spi.Codec.DataTypeEnum;
 import pink.catty.core.invoker.Invocation;
@@ -40,15 +42,22 @@ import pink.catty.core.service.MethodModel;
 public class NettyClient extends AbstractClient {
 
   private Channel clientChannel;
-  private NioEventLoopGroup nioEventLoopGroup;
+  private NettyWriteBatcher writeBatcher;
+  private EventLoopGroup eventLoopGroup;
+  private final NettyTransport transport;
 
   public NettyClient(ClientMeta clientMeta, Codec codec) {
+    this(clientMeta, codec, NettyTransport.NIO);
+  }
+
+  public NettyClient(ClientMeta clientMeta, Codec codec, NettyTransport transport) {
     super(clientMeta, codec);
-    nioEventLoopGroup = new NioEventLoopGroup(Constants.THREAD_NUMBER + 1);
+    this.transport = transport;
   }
 
   @Override
   protected void doOpen() {
+    eventLoopGroup = ClientEventLoopGroup.acquire(transport);
     Bootstrap bootstrap = new Bootstrap();
     int connectTimeoutMillis = getMeta().getTimeout() > 0 ? getMeta().getTimeout()
         : Constants.DEFAULT_CLIENT_TIMEOUT;
@@ -56,8 +65,16 @@ public class NettyClient extends AbstractClient {
     bootstrap.option(ChannelOption.TCP_NODELAY, true);
     bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
     bootstrap.option(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
-    bootstrap.group(nioEventLoopGroup)
-        .channel(NioSocketChannel.class)
+    if (getMeta().getWriteBufferHighWaterMark() > 0) {
+      bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK,
+          new WriteBufferWaterMark(getMeta().getWriteBufferLowWaterMark(),
+              getMeta().getWriteBufferHighWaterMark()));
+    }
+    if (transport == NettyTransport.EPOLL && getMeta().isTcpQuickAck()) {
+      bootstrap.option(EpollChannelOption.TCP_QUICKACK, true);
+    }
+    bootstrap.group(eventLoopGroup)
+        .channel(transport.socketChannelClass())
         .handler(new ChannelInitializer<SocketChannel>() {
           @Override
           protected void initChannel(SocketChannel ch) {
@@ -72,9 +89,16 @@ public class NettyClient extends AbstractClient {
           .connect(getMeta().getRemoteIp(), getMeta().getRemotePort())
           .sync();
       clientChannel = future.channel();
+      if (getMeta().isWriteCoalescing()) {
+        writeBatcher = new NettyWriteBatcher(clientChannel, getMeta());
+      }
     } catch (InterruptedException i) {
       close();
       throw new EndpointInvalidException("NettyClient: connect().sync() interrupted", i);
+    } catch (Exception e) {
+      close();
+      throw new EndpointInvalidException("NettyClient: connect failed, address: "
+          + getMeta().getRemoteIp() + ":" + getMeta().getRemotePort(), e);
     }
   }
 
@@ -83,8 +107,9 @@ public class NettyClient extends AbstractClient {
     if (clientChannel != null) {
       clientChannel.close();
     }
-    if (nioEventLoopGroup != null) {
-      nioEventLoopGroup.shutdownGracefully();
+    if (eventLoopGroup != null) {
+      eventLoopGroup = null;
+      ClientEventLoopGroup.release(transport);
     }
   }
 
@@ -94,6 +119,8 @@ public class NettyClient extends AbstractClient {
       throw new EndpointInvalidException("ClientChannel closed");
     }
     MethodModel methodModel = invocation.getInvokedMethod();
+    long timeout = getTimeout(invocation);
+    checkBackpressure(timeout);
     try {
       Response response = new DefaultResponse(request.getRequestId());
 
@@ -102,12 +129,17 @@ public class NettyClient extends AbstractClient {
        * response, or will cause OOM.
        */
       if (methodModel.isNeedReturn() || methodModel.getReturnType() != Void.TYPE) {
-        addCurrentTask(request.getRequestId(), response);
+        if (!addCurrentTask(request.getRequestId(), response, timeout)) {
+          // completed with an error, the reply of the pending one must not complete it.
+          return response;
+        }
+        bindDispatchIds(request, invocation, response);
       }
-      byte[] msg = getCodec().encode(request, DataTypeEnum.REQUEST);
-      ByteBuf byteBuf = clientChannel.alloc().heapBuffer();
-      byteBuf.writeBytes(msg);
-      clientChannel.writeAndFlush(byteBuf).addListener(future -> {
+      ByteBuf byteBuf = NettyCodecSupport
+          .encode(getCodec(), request, DataTypeEnum.REQUEST, clientChannel.alloc());
+      ChannelFuture writeFuture = writeBatcher != null ? writeBatcher.write(byteBuf)
+          : clientChannel.writeAndFlush(byteBuf);
+      writeFuture.addListener(future -> {
         if (!future.isSuccess()) {
           if (future.cause() != null) {
             logger.error("Client send request failed. ", future.cause());
@@ -117,9 +149,28 @@ public class NettyClient extends AbstractClient {
         }
       });
       return response;
+    } catch (SerializationException e) {
+      // arguments are serialized while encoding, it is not the endpoint's fault.
+      Response pending = getResponseFuture(request.getRequestId());
+      if (pending != null) {
+        // completing it cancels its timeout.
+        pending.setValue(e);
+      }
+      throw e;
     } catch (Exception e) {
       logger.error("ClientChannel invoke error", e);
       throw new EndpointInvalidException("ClientChannel invoke error", e);
     }
   }
+
+  @Override
+  protected boolean isWritable() {
+    return clientChannel.isWritable();
+  }
+
+  void onWritabilityChanged() {
+    if (clientChannel.isWritable()) {
+      signalBackpressure();
+    }
+  }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.invokers.endpoint;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import pink.catty.core.extension.spi.ByteBufCodec;
+import pink.catty.core.extension.spi.Codec;
+import pink.catty.core.extension.spi.Codec.DataTypeEnum;
+import pink.catty.core.invoker.frame.Payload;
+import pink.catty.core.invoker.frame.Request;
+
+/**
+ * Bridge between netty endpoints and {@link Codec}. If the codec is a {@link ByteBufCodec}, frames
+ * are encoded and decoded on ByteBuf directly, otherwise by byte[], and {@link Payload} arguments
+ * are serialized into byte[] before encoding.
+ */
+abstract class NettyCodecSupport {
+
+  static ByteBuf encode(Codec codec, Object message, DataTypeEnum dataTypeEnum,
+      ByteBufAllocator allocator) {
+    if (codec instanceof ByteBufCodec) {
+      return ((ByteBufCodec) codec).encode(message, dataTypeEnum, allocator);
+    }
+    if (message instanceof Request && ((Request) message).getArgsValue() != null) {
+      Object[] args = ((Request) message).getArgsValue();
+      for (int i = 0; i < args.length; i++) {
+        args[i] = Payload.serialized(args[i]);
+      }
+    }
+    byte[] msg = codec.encode(message, dataTypeEnum);
+    ByteBuf byteBuf = allocator.heapBuffer(msg.length);
+    byteBuf.writeBytes(msg);
+    return byteBuf;
+  }
+
+  static Object decode(Codec codec, Object msg, DataTypeEnum dataTypeEnum) {
+    if (msg instanceof ByteBuf) {
+      ByteBuf data = (ByteBuf) msg;
+      try {
+        return ((ByteBufCodec) codec).decode(data, dataTypeEnum);
+      } finally {
+        data.release();
+      }
+    }
+    return codec.decode((byte[]) msg, dataTypeEnum);
+  }
+
+}
@@ -16,13 +16,16 @@ package pink.catty.invokers.endpoint;
 
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.buffer.PooledByteBufAllocator;
-import io.netty.channel.ChannelFuture;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.EpollChannelOption;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.ArrayList;
+import java.util.List;
 import pink.catty.core.EndpointInvalidException;
 import pink.catty.core.extension.spi.Codec;
 import pink.catty.core.invoker.endpoint.AbstractServer;
@@ -30,14 +33,27 @@ import pink.catty.core.meta.ServerMeta;
 
 public class NettyServer extends AbstractServer {
 
-  private io.netty.channel.Channel serverChannel;
-  private NioEventLoopGroup bossGroup;
-  private NioEventLoopGroup workerGroup;
+  private final NettyTransport transport;
+  private final int acceptorNum;
+  private List<Channel> serverChannels = new ArrayList<>();
+  private EventLoopGroup bossGroup;
+  private EventLoopGroup workerGroup;
 
   public NettyServer(ServerMeta serverMeta, Codec codec) {
+    this(serverMeta, codec, NettyTransport.NIO);
+  }
+
+  /**
+   * With EPOLL transport, the server binds acceptorNum channels on the same port by SO_REUSEPORT,
+   * each of them accepts connections in its own boss thread.
+   */
+  public NettyServer(ServerMeta serverMeta, Codec codec, NettyTransport transport) {
     super(serverMeta, codec);
-    bossGroup = new NioEventLoopGroup(1);
-    workerGroup = new NioEventLoopGroup();
+    this.transport = transport;
+    this.acceptorNum = transport == NettyTransport.EPOLL && serverMeta.getAcceptorNum() > 1
+        ? serverMeta.getAcceptorNum() : 1;
+    bossGroup = transport.newEventLoopGroup(acceptorNum, new DefaultThreadFactory("catty-boss"));
+    workerGroup = transport.newEventLoopGroup(0, new DefaultThreadFactory("catty-worker"));
   }
 
   @Override
@@ -45,7 +61,7 @@ public class NettyServer extends AbstractServer {
     ServerBootstrap serverBootstrap = new ServerBootstrap();
     serverBootstrap.group(bossGroup, workerGroup)
 
-        .channel(NioServerSocketChannel.class)
+        .channel(transport.serverSocketChannelClass())
         .childHandler(new ChannelInitializer<SocketChannel>() {
           @Override
           protected void initChannel(SocketChannel ch) {
@@ -57,9 +73,16 @@ public class NettyServer extends AbstractServer {
     serverBootstrap.childOption(ChannelOption.TCP_NODELAY, true);
     serverBootstrap.childOption(ChannelOption.SO_KEEPALIVE, true);
     serverBootstrap.childOption(ChannelOption.ALLOCATOR, PooledByteBufAllocator.DEFAULT);
+    if (acceptorNum > 1) {
+      serverBootstrap.option(EpollChannelOption.SO_REUSEPORT, true);
+    }
+    if (transport == NettyTransport.EPOLL && getMeta().isTcpQuickAck()) {
+      serverBootstrap.childOption(EpollChannelOption.TCP_QUICKACK, true);
+    }
     try {
-      ChannelFuture f = serverBootstrap.bind(getMeta().getLocalPort()).sync();
-      serverChannel = f.channel();
+      for (int i = 0; i < acceptorNum; i++) {
+        serverChannels.add(serverBootstrap.bind(getMeta().getLocalPort()).sync().channel());
+      }
     } catch (Exception e) {
       throw new EndpointInvalidException("Server bind error, port: " + getMeta().getLocalPort(), e);
     }
@@ -67,9 +90,10 @@ public class NettyServer extends AbstractServer {
 
   @Override
   protected void doClose() {
-    if (serverChannel != null) {
+    for (Channel serverChannel : serverChannels) {
       serverChannel.close();
     }
+    serverChannels.clear();
     if (bossGroup != null) {
       bossGroup.shutdownGracefully();
       bossGroup = null;
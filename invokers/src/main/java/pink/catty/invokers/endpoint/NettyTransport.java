@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.invokers.endpoint;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import java.util.concurrent.ThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * IO transport of netty endpoints.
+ */
+public enum NettyTransport {
+
+  /**
+   * JDK selector, available on every platform.
+   */
+  NIO {
+    @Override
+    EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+      return new NioEventLoopGroup(threads, threadFactory);
+    }
+
+    @Override
+    Class<? extends SocketChannel> socketChannelClass() {
+      return NioSocketChannel.class;
+    }
+
+    @Override
+    Class<? extends ServerSocketChannel> serverSocketChannelClass() {
+      return NioServerSocketChannel.class;
+    }
+  },
+
+  /**
+   * Linux native epoll, supports SO_REUSEPORT and TCP_QUICKACK.
+   */
+  EPOLL {
+    @Override
+    EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+      return new EpollEventLoopGroup(threads, threadFactory);
+    }
+
+    @Override
+    Class<? extends SocketChannel> socketChannelClass() {
+      return EpollSocketChannel.class;
+    }
+
+    @Override
+    Class<? extends ServerSocketChannel> serverSocketChannelClass() {
+      return EpollServerSocketChannel.class;
+    }
+  };
+
+  private static final Logger logger = LoggerFactory.getLogger(NettyTransport.class);
+
+  abstract EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory);
+
+  abstract Class<? extends SocketChannel> socketChannelClass();
+
+  abstract Class<? extends ServerSocketChannel> serverSocketChannelClass();
+
+  /**
+   * Return EPOLL if native epoll is available, or fall back to NIO.
+   */
+  public static NettyTransport nativeOrNio() {
+    if (Epoll.isAvailable()) {
+      return EPOLL;
+    }
+    logger.warn("Native epoll transport is unavailable, fall back to NIO.",
+        Epoll.unavailabilityCause());
+    return NIO;
+  }
+}
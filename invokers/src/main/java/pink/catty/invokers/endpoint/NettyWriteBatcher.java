@@ -0,0 +1,111 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.invokers.endpoint;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.internal.PlatformDependent;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import pink.catty.core.Constants;
+import pink.catty.core.meta.EndpointMeta;
+
+/**
+ * Coalesce writes of one channel. Messages written by any thread are queued, and the channel's event
+ * loop drains the queue and flushes once per drain, or once every maxMessages messages or maxBytes
+ * bytes, instead of one flush per message.
+ */
+class NettyWriteBatcher implements Runnable {
+
+  private final Channel channel;
+  private final int maxMessages;
+  private final int maxBytes;
+  private final Queue<PendingWrite> queue = PlatformDependent.newMpscQueue();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+
+  NettyWriteBatcher(Channel channel, EndpointMeta meta) {
+    this.channel = channel;
+    this.maxMessages = meta.getWriteBatchSize() > 0 ? meta.getWriteBatchSize()
+        : Constants.DEFAULT_WRITE_BATCH_SIZE;
+    this.maxBytes = meta.getWriteBatchBytes() > 0 ? meta.getWriteBatchBytes()
+        : Constants.DEFAULT_WRITE_BATCH_BYTES;
+  }
+
+  ChannelFuture write(ByteBuf message) {
+    ChannelPromise promise = channel.newPromise();
+    queue.offer(new PendingWrite(message, promise));
+    if (scheduled.compareAndSet(false, true)) {
+      schedule();
+    }
+    return promise;
+  }
+
+  private void schedule() {
+    try {
+      channel.eventLoop().execute(this);
+    } catch (RejectedExecutionException e) {
+      // event loop has been shutdown.
+      PendingWrite write;
+      while ((write = queue.poll()) != null) {
+        ReferenceCountUtil.release(write.message);
+        write.promise.tryFailure(e);
+      }
+      scheduled.set(false);
+    }
+  }
+
+  @Override
+  public void run() {
+    int messages = 0;
+    int bytes = 0;
+    PendingWrite write;
+    while ((write = queue.poll()) != null) {
+      bytes += write.message.readableBytes();
+      channel.write(write.message, write.promise);
+      if (++messages >= maxMessages || bytes >= maxBytes) {
+        channel.flush();
+        messages = 0;
+        bytes = 0;
+      }
+    }
+    if (messages > 0) {
+      channel.flush();
+    }
+    scheduled.set(false);
+
+    /*
+     * Messages offered after the last poll but before resetting scheduled are not been drained,
+     * submit another task instead of looping here so that the event loop can do some IO between.
+     */
+    if (!queue.isEmpty() && scheduled.compareAndSet(false, true)) {
+      schedule();
+    }
+  }
+
+  private static final class PendingWrite {
+
+    private final ByteBuf message;
+    private final ChannelPromise promise;
+
+    private PendingWrite(ByteBuf message, ChannelPromise promise) {
+      this.message = message;
+      this.promise = promise;
+    }
+  }
+}
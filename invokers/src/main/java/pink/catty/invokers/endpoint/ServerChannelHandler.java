@@ -18,53 +18,94 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import pink.catty.core.CattyException;
 import pink.catty.core.extension.spi.Codec.DataTypeEnum;
 import pink.catty.core.invoker.Invocation;
+import pink.catty.core.invoker.endpoint.AbstractServer;
 import pink.catty.core.invoker.endpoint.Void;
 import pink.catty.core.invoker.frame.Request;
 import pink.catty.core.invoker.frame.Response;
-import pink.catty.core.support.worker.HashableExecutor;
+import pink.catty.core.service.ExecuteOn;
+import pink.catty.core.service.MethodModel;
 
 public class ServerChannelHandler extends ChannelDuplexHandler {
 
   private static Logger logger = LoggerFactory.getLogger(ServerChannelHandler.class);
 
   private NettyServer nettyServer;
+  private NettyWriteBatcher writeBatcher;
+
+  /*
+   * Responses written inline by the event loop while reading are flushed once when the read
+   * completes. Only accessed by the event loop.
+   */
+  private boolean reading;
+  private boolean flushPending;
 
   public ServerChannelHandler(NettyServer nettyServer) {
     this.nettyServer = nettyServer;
   }
 
+  @Override
+  public void handlerAdded(ChannelHandlerContext ctx) throws Exception {
+    if (nettyServer.getMeta().isWriteCoalescing()) {
+      writeBatcher = new NettyWriteBatcher(ctx.channel(), nettyServer.getMeta());
+    }
+    super.handlerAdded(ctx);
+  }
+
   @Override
   public void channelRead(ChannelHandlerContext ctx, Object msg) {
-    byte[] data = (byte[]) msg;
-    Object object = nettyServer.getCodec().decode(data, DataTypeEnum.REQUEST);
+    reading = true;
+    Object object = NettyCodecSupport.decode(nettyServer.getCodec(), msg, DataTypeEnum.REQUEST);
     if (!(object instanceof Request)) {
       throw new CattyException(
           "ServerChannelHandler: unsupported message type when decode: " + object.getClass());
     }
-    if (nettyServer.getExecutor() != null) {
-      if (nettyServer.getMeta().isNeedOrder()) {
-        ((HashableExecutor) nettyServer.getExecutor())
-            .submit(hashCode(), () -> processRequest(ctx, (Request) object));
-      } else {
-        nettyServer.getExecutor().submit(() -> processRequest(ctx, (Request) object));
+    Request request = (Request) object;
+    Invocation invocation = new Invocation();
+    invocation.setArrivalTime(System.nanoTime());
+    Response busy = nettyServer.acquireInflight(request, invocation);
+    if (busy != null) {
+      sendResponse(ctx, busy);
+      return;
+    }
+    MethodModel methodModel = nettyServer.getMethodModel(request);
+    boolean executeOnIo = methodModel != null && methodModel.getExecuteOn() == ExecuteOn.IO;
+    if (nettyServer.getExecutor() != null && !executeOnIo) {
+      try {
+        int hash = nettyServer.getMeta().isNeedOrder()
+            ? AbstractServer.getOrderHash(request, methodModel, ctx.channel().id().hashCode()) : 0;
+        nettyServer.execute(hash, () -> processRequest(ctx, request, invocation));
+      } catch (RejectedExecutionException e) {
+        nettyServer.releaseInflight(invocation);
+        sendResponse(ctx, nettyServer.reject(request, "Server executor is full"));
       }
     } else {
-      processRequest(ctx, (Request) object);
+      processRequest(ctx, request, invocation);
     }
   }
 
+  @Override
+  public void channelReadComplete(ChannelHandlerContext ctx) throws Exception {
+    reading = false;
+    if (flushPending) {
+      flushPending = false;
+      ctx.channel().flush();
+    }
+    super.channelReadComplete(ctx);
+  }
+
   @Override
   public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) throws Exception {
     logger.error("Uncaught exception.", cause);
   }
 
-  private void processRequest(ChannelHandlerContext ctx, Request request) {
-    Response response = nettyServer.invoke(request, new Invocation());
+  private void processRequest(ChannelHandlerContext ctx, Request request, Invocation invocation) {
+    Response response = nettyServer.invoke(request, invocation);
     response.whenComplete((value, throwable) -> {
       if (value == null || value instanceof Void) {
         return;
@@ -79,10 +120,16 @@ public class ServerChannelHandler extends ChannelDuplexHandler {
   }
 
   private ChannelFuture sendResponse(ChannelHandlerContext ctx, Response response) {
-    byte[] msg = nettyServer.getCodec().encode(response, DataTypeEnum.RESPONSE);
-    ByteBuf byteBuf = ctx.channel().alloc().heapBuffer();
-    byteBuf.writeBytes(msg);
     if (ctx.channel().isActive()) {
+      ByteBuf byteBuf = NettyCodecSupport
+          .encode(nettyServer.getCodec(), response, DataTypeEnum.RESPONSE, ctx.channel().alloc());
+      if (writeBatcher != null) {
+        return writeBatcher.write(byteBuf);
+      }
+      if (ctx.executor().inEventLoop() && reading) {
+        flushPending = true;
+        return ctx.channel().write(byteBuf);
+      }
       return ctx.channel().writeAndFlush(byteBuf);
     } else {
       return null;
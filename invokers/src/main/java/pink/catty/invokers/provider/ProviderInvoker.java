@@ -14,7 +14,6 @@
  */
 package pink.catty.invokers.provider;
 
-import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.CompletionStage;
 import pink.catty.core.CattyException;
 import pink.catty.core.invoker.Invocation;
@@ -27,14 +26,17 @@ import pink.catty.core.invoker.frame.Request;
 import pink.catty.core.invoker.frame.Response;
 import pink.catty.core.meta.ProviderMeta;
 import pink.catty.core.service.MethodModel;
+import pink.catty.core.service.ServiceDispatcher;
 import pink.catty.core.utils.AsyncUtils;
 
 public class ProviderInvoker implements Provider {
 
   private ProviderMeta meta;
+  private ServiceDispatcher dispatcher;
 
   public ProviderInvoker(ProviderMeta meta) {
     this.meta = meta;
+    this.dispatcher = new ServiceDispatcher(meta.getServiceModel());
   }
 
   @Override
@@ -61,7 +63,7 @@ public class ProviderInvoker implements Provider {
 
     try {
       Object[] argsValue = request.getArgsValue();
-      Object value = methodModel.getMethod().invoke(invocation.getTarget(), argsValue);
+      Object value = dispatcher.invoke(invocation.getTarget(), methodModel, argsValue);
       if (methodModel.isAsync()) {
         CompletionStage<Object> future = (CompletionStage<Object>) value;
         response = AsyncUtils.newResponse(future, request.getRequestId());
@@ -76,21 +78,8 @@ public class ProviderInvoker implements Provider {
           response.setValue(value);
         }
       }
-    } catch (Exception e) {
-      // todo: deal runtime exception.
-      if (e instanceof InvocationTargetException) {
-        Throwable targetException = e.getCause();
-        if (methodModel.containsCheckedException(targetException.getClass())) {
-          response.setValue(targetException);
-        } else if(targetException instanceof RuntimeException) {
-          response.setValue(targetException);
-        } else {
-          response.setValue(e);
-        }
-      } else {
-        response.setValue(e);
-      }
-    } catch (Error e) {
+    } catch (Throwable e) {
+      // exceptions thrown by the target are not wrapped by dispatcher.
       response.setValue(e);
     }
     return response;
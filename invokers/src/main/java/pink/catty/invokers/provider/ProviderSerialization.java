@@ -14,15 +14,21 @@
  */
 package pink.catty.invokers.provider;
 
+import java.io.ByteArrayOutputStream;
 import java.util.concurrent.CompletionStage;
+import pink.catty.core.extension.ExtensionFactory;
+import pink.catty.core.extension.spi.Compression;
 import pink.catty.core.extension.spi.Serialization;
 import pink.catty.core.invoker.AbstractProvider;
 import pink.catty.core.invoker.Invocation;
 import pink.catty.core.invoker.Provider;
 import pink.catty.core.invoker.endpoint.Void;
+import pink.catty.core.invoker.frame.CompressedValue;
+import pink.catty.core.invoker.frame.ErrorFrame;
 import pink.catty.core.invoker.frame.Request;
 import pink.catty.core.invoker.frame.Response;
 import pink.catty.core.service.MethodModel;
+import pink.catty.core.support.CompressionMetrics;
 import pink.catty.core.utils.AsyncUtils;
 import pink.catty.core.utils.ExceptionUtils;
 
@@ -30,12 +36,39 @@ public class ProviderSerialization extends AbstractProvider {
 
   private Serialization serialization;
 
+  private String compressionType;
+  private Compression compression;
+  private boolean compressionEnabled;
+  private int compressionThreshold;
+  private final CompressionMetrics compressionMetrics = new CompressionMetrics();
+
   public ProviderSerialization(Provider next, Serialization serialization) {
+    this(next, serialization, null, false, 0);
+  }
+
+  /**
+   * @param compressionType compression of return values, null means never compress.
+   * @param compressionEnabled if true, return values of every method are compressed, otherwise
+   * only methods with RpcMethod#compress().
+   * @param compressionThreshold min bytes of serialized return values to be compressed.
+   */
+  public ProviderSerialization(Provider next, Serialization serialization, String compressionType,
+      boolean compressionEnabled, int compressionThreshold) {
     super(next);
     if (serialization == null) {
       throw new NullPointerException("Serialization is null");
     }
     this.serialization = serialization;
+    if (compressionType != null && !"".equals(compressionType)) {
+      this.compressionType = compressionType;
+      this.compression = ExtensionFactory.getCompression().getExtensionSingleton(compressionType);
+    }
+    this.compressionEnabled = compressionEnabled;
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  public CompressionMetrics getCompressionMetrics() {
+    return compressionMetrics;
   }
 
   @Override
@@ -61,34 +94,50 @@ public class ProviderSerialization extends AbstractProvider {
         methodModel.isAsync() ? methodModel.getGenericReturnType() : methodModel.getReturnType();
 
     CompletionStage<Object> newResponse = response.thenApply(returnValue -> {
-      byte[] serialized;
-      byte[] finalBytes;
       if (returnValue instanceof Throwable && !Throwable.class.isAssignableFrom(returnType)) {
         // exception has been thrown.
-        String exception = ExceptionUtils.toString((Throwable) returnValue);
-        serialized = serialization.serialize(exception);
-        finalBytes = new byte[serialized.length + 1];
-        finalBytes[0] = 1; // exception has been thrown.
-        System.arraycopy(serialized, 0, finalBytes, 1, serialized.length);
-      } else {
-        if (returnValue == Void.getInstance() && !methodModel.isNeedReturn()) {
-          return returnValue;
-        }
-        try {
-          serialized = serialization.serialize(returnValue);
-          finalBytes = new byte[serialized.length + 1];
-          finalBytes[0] = 0; // response status is ok.
-        } catch (Exception e) {
-          String exception = ExceptionUtils.toString(e);
-          serialized = serialization.serialize(exception);
-          finalBytes = new byte[serialized.length + 1];
-          finalBytes[0] = 1; // exception has been thrown.
+        return toErrorFrame((Throwable) returnValue, methodModel);
+      }
+      if (returnValue == Void.getInstance() && !methodModel.isNeedReturn()) {
+        return returnValue;
+      }
+      try {
+        byte[] bytes = serialization.serialize(returnValue);
+        if (needCompress(request, methodModel, bytes)) {
+          return compress(bytes);
         }
-        System.arraycopy(serialized, 0, finalBytes, 1, serialized.length);
+        return bytes;
+      } catch (Exception e) {
+        return toErrorFrame(e, methodModel);
       }
-      return finalBytes;
     });
     return AsyncUtils.newResponse(newResponse, request.getRequestId());
   }
 
+  private boolean needCompress(Request request, MethodModel methodModel, byte[] bytes) {
+    return compression != null
+        && request.isAcceptCompression()
+        && (compressionEnabled || methodModel.isCompress())
+        && bytes.length >= compressionThreshold;
+  }
+
+  /*
+   * Data which is not able to be compressed is sent as it is.
+   */
+  private Object compress(byte[] bytes) {
+    long start = System.nanoTime();
+    byte[] compressed = compression.compress(bytes);
+    compressionMetrics.record(bytes.length, compressed.length, System.nanoTime() - start);
+    if (compressed.length >= bytes.length) {
+      return bytes;
+    }
+    return new CompressedValue(compressionType, compressed);
+  }
+
+  private static ErrorFrame toErrorFrame(Throwable t, MethodModel methodModel) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ExceptionUtils.writeException(t, methodModel, out);
+    return new ErrorFrame(out.toByteArray());
+  }
+
 }
@@ -46,6 +46,19 @@ public class CattyBeanDefinitionParser implements BeanDefinitionParser {
   private static final String RETRY_TIMES = "retry-times";
   private static final String RECOVERY_PERIOD = "recovery-period";
   private static final String HEARTBEAT_PERIOD = "heartbeat-period";
+  private static final String WRITE_COALESCING = "write-coalescing";
+  private static final String WRITE_BATCH_SIZE = "write-batch-size";
+  private static final String WRITE_BATCH_BYTES = "write-batch-bytes";
+  private static final String CONNECTION_NUM = "connection-num";
+  private static final String CONNECTION_SELECTOR = "connection-selector";
+  private static final String TCP_QUICK_ACK = "tcp-quick-ack";
+  private static final String MAX_PENDING_REQUESTS = "max-pending-requests";
+  private static final String BACKPRESSURE_POLICY = "backpressure-policy";
+  private static final String WRITE_BUFFER_LOW_WATER_MARK = "write-buffer-low-water-mark";
+  private static final String WRITE_BUFFER_HIGH_WATER_MARK = "write-buffer-high-water-mark";
+  private static final String COMPRESSION = "compression";
+  private static final String COMPRESSION_ENABLED = "compression-enabled";
+  private static final String COMPRESSION_THRESHOLD = "compression-threshold";
   private static final String TIMEOUT = "timeout";
   private static final String ADDRESSES = "addresses";
   private static final String ADDRESS_SPLIT = ";";
@@ -53,6 +66,11 @@ public class CattyBeanDefinitionParser implements BeanDefinitionParser {
   private static final String WORKER_NUM = "worker-num";
   private static final String MIN_WORKER_NUM = "min-worker-num";
   private static final String MAX_WORKER_NUM = "max-worker-num";
+  private static final String ACCEPTOR_NUM = "acceptor-num";
+  private static final String MAX_QUEUE_TIME = "max-queue-time";
+  private static final String VIRTUAL_THREAD = "virtual-thread";
+  private static final String MAX_VIRTUAL_THREADS = "max-virtual-threads";
+  private static final String ORDERED_QUEUE_CAPACITY = "ordered-queue-capacity";
   private static final String PROTOCOL_REF = "protocol";
   private static final String CLIENT_CONFIG_REF = "client-config";
   private static final String SERVER_CONFIG_REF = "server-config";
@@ -82,6 +100,19 @@ public class CattyBeanDefinitionParser implements BeanDefinitionParser {
       String retryTime = element.getAttribute(RETRY_TIMES);
       String recoveryPeriod = element.getAttribute(RECOVERY_PERIOD);
       String heartbeatPeriod = element.getAttribute(HEARTBEAT_PERIOD);
+      String writeCoalescing = element.getAttribute(WRITE_COALESCING);
+      String writeBatchSize = element.getAttribute(WRITE_BATCH_SIZE);
+      String writeBatchBytes = element.getAttribute(WRITE_BATCH_BYTES);
+      String connectionNum = element.getAttribute(CONNECTION_NUM);
+      String connectionSelector = element.getAttribute(CONNECTION_SELECTOR);
+      String tcpQuickAck = element.getAttribute(TCP_QUICK_ACK);
+      String maxPendingRequests = element.getAttribute(MAX_PENDING_REQUESTS);
+      String backpressurePolicy = element.getAttribute(BACKPRESSURE_POLICY);
+      String writeBufferLowWaterMark = element.getAttribute(WRITE_BUFFER_LOW_WATER_MARK);
+      String writeBufferHighWaterMark = element.getAttribute(WRITE_BUFFER_HIGH_WATER_MARK);
+      String compression = element.getAttribute(COMPRESSION);
+      String compressionEnabled = element.getAttribute(COMPRESSION_ENABLED);
+      String compressionThreshold = element.getAttribute(COMPRESSION_THRESHOLD);
 
       if (!isEmpty(loadBalance)) {
         bd.getPropertyValues().addPropertyValue("loadBalanceType", loadBalance);
@@ -107,6 +138,45 @@ public class CattyBeanDefinitionParser implements BeanDefinitionParser {
       if (!isEmpty(heartbeatPeriod)) {
         bd.getPropertyValues().addPropertyValue("heartbeatPeriod", heartbeatPeriod);
       }
+      if (!isEmpty(writeCoalescing)) {
+        bd.getPropertyValues().addPropertyValue("writeCoalescing", writeCoalescing);
+      }
+      if (!isEmpty(writeBatchSize)) {
+        bd.getPropertyValues().addPropertyValue("writeBatchSize", writeBatchSize);
+      }
+      if (!isEmpty(writeBatchBytes)) {
+        bd.getPropertyValues().addPropertyValue("writeBatchBytes", writeBatchBytes);
+      }
+      if (!isEmpty(connectionNum)) {
+        bd.getPropertyValues().addPropertyValue("connectionNum", connectionNum);
+      }
+      if (!isEmpty(connectionSelector)) {
+        bd.getPropertyValues().addPropertyValue("connectionSelector", connectionSelector);
+      }
+      if (!isEmpty(tcpQuickAck)) {
+        bd.getPropertyValues().addPropertyValue("tcpQuickAck", tcpQuickAck);
+      }
+      if (!isEmpty(maxPendingRequests)) {
+        bd.getPropertyValues().addPropertyValue("maxPendingRequests", maxPendingRequests);
+      }
+      if (!isEmpty(backpressurePolicy)) {
+        bd.getPropertyValues().addPropertyValue("backpressurePolicy", backpressurePolicy);
+      }
+      if (!isEmpty(writeBufferLowWaterMark)) {
+        bd.getPropertyValues().addPropertyValue("writeBufferLowWaterMark", writeBufferLowWaterMark);
+      }
+      if (!isEmpty(writeBufferHighWaterMark)) {
+        bd.getPropertyValues().addPropertyValue("writeBufferHighWaterMark", writeBufferHighWaterMark);
+      }
+      if (!isEmpty(compression)) {
+        bd.getPropertyValues().addPropertyValue("compressionType", compression);
+      }
+      if (!isEmpty(compressionEnabled)) {
+        bd.getPropertyValues().addPropertyValue("compressionEnabled", compressionEnabled);
+      }
+      if (!isEmpty(compressionThreshold)) {
+        bd.getPropertyValues().addPropertyValue("compressionThreshold", compressionThreshold);
+      }
     }
 
     if (ClientConfigBean.class == beanClass) {
@@ -125,6 +195,11 @@ public class CattyBeanDefinitionParser implements BeanDefinitionParser {
       String workerNum = element.getAttribute(WORKER_NUM);
       String minWorkerNum = element.getAttribute(MIN_WORKER_NUM);
       String maxWorkerNum = element.getAttribute(MAX_WORKER_NUM);
+      String acceptorNum = element.getAttribute(ACCEPTOR_NUM);
+      String maxQueueTime = element.getAttribute(MAX_QUEUE_TIME);
+      String virtualThread = element.getAttribute(VIRTUAL_THREAD);
+      String maxVirtualThreads = element.getAttribute(MAX_VIRTUAL_THREADS);
+      String orderedQueueCapacity = element.getAttribute(ORDERED_QUEUE_CAPACITY);
       assertNotEmpty(port, "xml server-config's port can't be empty" + id);
       bd.getPropertyValues().addPropertyValue("port", port);
       if (!isEmpty(workerNum)) {
@@ -136,6 +211,21 @@ public class CattyBeanDefinitionParser implements BeanDefinitionParser {
       if (!isEmpty(maxWorkerNum)) {
         bd.getPropertyValues().addPropertyValue("maxWorkerThreadNum", maxWorkerNum);
       }
+      if (!isEmpty(acceptorNum)) {
+        bd.getPropertyValues().addPropertyValue("acceptorNum", acceptorNum);
+      }
+      if (!isEmpty(maxQueueTime)) {
+        bd.getPropertyValues().addPropertyValue("maxQueueTime", maxQueueTime);
+      }
+      if (!isEmpty(virtualThread)) {
+        bd.getPropertyValues().addPropertyValue("virtualThread", virtualThread);
+      }
+      if (!isEmpty(maxVirtualThreads)) {
+        bd.getPropertyValues().addPropertyValue("maxVirtualThreads", maxVirtualThreads);
+      }
+      if (!isEmpty(orderedQueueCapacity)) {
+        bd.getPropertyValues().addPropertyValue("orderedQueueCapacity", orderedQueueCapacity);
+      }
     }
 
     if (ReferenceFactoryBean.class == beanClass) {
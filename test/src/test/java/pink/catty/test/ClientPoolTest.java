@@ -0,0 +1,126 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pink.catty.core.EndpointOverloadException;
+import pink.catty.core.invoker.Invocation;
+import pink.catty.core.invoker.endpoint.AbstractClient;
+import pink.catty.core.invoker.endpoint.BackpressurePolicy;
+import pink.catty.core.invoker.endpoint.ClientPool;
+import pink.catty.core.invoker.frame.DefaultRequest;
+import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.Request;
+import pink.catty.core.invoker.frame.Response;
+import pink.catty.core.meta.ClientMeta;
+
+public class ClientPoolTest {
+
+  @Test
+  public void roundRobinTest() {
+    ClientMeta clientMeta = new ClientMeta();
+    clientMeta.setConnectionNum(3);
+    clientMeta.setConnectionSelector(ClientPool.ROUND_ROBIN);
+    ClientPool pool = new ClientPool(clientMeta, null, () -> new MockClient(clientMeta));
+    pool.open();
+    Assert.assertNotNull(pool.getConnection(0));
+    Assert.assertNull(pool.getConnection(1));
+
+    for (int i = 0; i < 6; i++) {
+      pool.invoke(new DefaultRequest(), new Invocation());
+    }
+    for (int i = 0; i < 3; i++) {
+      Assert.assertEquals(2, ((MockClient) pool.getConnection(i)).invokeCount);
+    }
+    pool.close();
+    Assert.assertNull(pool.getConnection(0));
+  }
+
+  @Test
+  public void leastPendingTest() {
+    ClientMeta clientMeta = new ClientMeta();
+    clientMeta.setConnectionNum(3);
+    clientMeta.setConnectionSelector(ClientPool.LEAST_PENDING);
+    ClientPool pool = new ClientPool(clientMeta, null, () -> new MockClient(clientMeta));
+    pool.open();
+
+    MockClient first = (MockClient) pool.getConnection(0);
+    pool.invoke(new DefaultRequest(), new Invocation());
+    Assert.assertEquals(1, first.invokeCount);
+    Assert.assertNull(pool.getConnection(1));
+
+    // the first connection is busy, a new connection will be created.
+    first.addCurrentTask(1L, new DefaultResponse(1L));
+    pool.invoke(new DefaultRequest(), new Invocation());
+    MockClient second = (MockClient) pool.getConnection(1);
+    Assert.assertEquals(1, second.invokeCount);
+    Assert.assertEquals(1, first.invokeCount);
+    Assert.assertEquals(1, ClientPool.getPendingCount(first));
+    pool.close();
+  }
+
+  @Test
+  public void spillOverTest() {
+    ClientMeta clientMeta = new ClientMeta();
+    clientMeta.setConnectionNum(2);
+    clientMeta.setMaxPendingRequests(1);
+    clientMeta.setBackpressurePolicy(BackpressurePolicy.SPILL_OVER);
+    ClientPool pool = new ClientPool(clientMeta, null, () -> new MockClient(clientMeta));
+    pool.open();
+
+    MockClient first = (MockClient) pool.getConnection(0);
+    first.addCurrentTask(1L, new DefaultResponse(1L));
+    pool.invoke(new DefaultRequest(), new Invocation());
+    MockClient second = (MockClient) pool.getConnection(1);
+    Assert.assertEquals(0, first.invokeCount);
+    Assert.assertEquals(1, second.invokeCount);
+    Assert.assertEquals(1, first.getOverloadCount());
+
+    second.addCurrentTask(2L, new DefaultResponse(2L));
+    try {
+      pool.invoke(new DefaultRequest(), new Invocation());
+      Assert.fail("No exception found");
+    } catch (EndpointOverloadException e) {
+      // all connections are overloaded.
+    }
+    pool.close();
+  }
+
+  private static class MockClient extends AbstractClient {
+
+    private int invokeCount;
+
+    MockClient(ClientMeta clientMeta) {
+      super(clientMeta, null);
+    }
+
+    @Override
+    public Response invoke(Request request, Invocation invocation) {
+      checkBackpressure(10);
+      invokeCount++;
+      return new DefaultResponse(request.getRequestId());
+    }
+
+    @Override
+    protected void doOpen() {
+    }
+
+    @Override
+    protected void doClose() {
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.test;
+
+import java.util.HashMap;
+import org.junit.Assert;
+import org.junit.Test;
+import pink.catty.core.ServerBusyException;
+import pink.catty.core.extension.ExtensionType.LoadBalanceType;
+import pink.catty.core.invoker.Consumer;
+import pink.catty.core.invoker.Invocation;
+import pink.catty.core.invoker.Invoker;
+import pink.catty.core.invoker.frame.DefaultRequest;
+import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.Request;
+import pink.catty.core.invoker.frame.Response;
+import pink.catty.core.meta.ClusterMeta;
+import pink.catty.core.meta.ConsumerMeta;
+import pink.catty.core.service.ServiceModel;
+import pink.catty.invokers.cluster.FailOverCluster;
+import pink.catty.test.service.AService;
+
+public class ClusterTest {
+
+  @Test
+  public void failOverBusyWithoutTimeoutTest() throws Exception {
+    ServiceModel<AService> serviceModel = ServiceModel.parse(AService.class);
+    ConsumerMeta consumerMeta = new ConsumerMeta();
+    consumerMeta.setServiceModel(serviceModel);
+    ClusterMeta clusterMeta = new ClusterMeta();
+    clusterMeta.setLoadBalance(LoadBalanceType.RANDOM);
+    FailOverCluster cluster = new FailOverCluster(clusterMeta);
+    cluster.setInvokerMap(new HashMap<>());
+    MockConsumer busy = new MockConsumer(consumerMeta, new ServerBusyException("busy"));
+    MockConsumer idle = new MockConsumer(consumerMeta, "pong");
+    cluster.registerInvoker("busy", busy);
+    cluster.registerInvoker("idle", idle);
+
+    Invocation invocation = new Invocation();
+    invocation.setInvokedMethod(serviceModel.getMethodModels().get(0));
+    for (int i = 0; i < 10; i++) {
+      Response response = cluster.invoke(new DefaultRequest(), invocation);
+      // replies of the busy endpoint are retried by the other one even if there is no timeout.
+      busy.reply();
+      idle.reply();
+      Assert.assertEquals("pong", response.get());
+    }
+    Assert.assertTrue(busy.invokeCount > 0);
+    Assert.assertEquals(10, idle.invokeCount);
+  }
+
+  private static class MockConsumer implements Consumer {
+
+    private final ConsumerMeta meta;
+    private final Object reply;
+    private Response pending;
+    private int invokeCount;
+
+    MockConsumer(ConsumerMeta meta, Object reply) {
+      this.meta = meta;
+      this.reply = reply;
+    }
+
+    @Override
+    public ConsumerMeta getMeta() {
+      return meta;
+    }
+
+    @Override
+    public Invoker getNext() {
+      return null;
+    }
+
+    @Override
+    public Response invoke(Request request, Invocation invocation) {
+      invokeCount++;
+      pending = new DefaultResponse(request.getRequestId());
+      return pending;
+    }
+
+    // reply asynchronously, after the cluster has returned.
+    void reply() {
+      if (pending != null) {
+        Response response = pending;
+        pending = null;
+        response.setValue(reply);
+      }
+    }
+  }
+}
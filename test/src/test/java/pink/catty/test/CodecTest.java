@@ -0,0 +1,234 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.test;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import pink.catty.core.SerializationException;
+import pink.catty.core.extension.ExtensionFactory;
+import pink.catty.core.extension.ExtensionType.CodecType;
+import pink.catty.core.extension.ExtensionType.CompressionType;
+import pink.catty.core.extension.ExtensionType.SerializationType;
+import pink.catty.core.extension.spi.ByteBufCodec;
+import pink.catty.core.extension.spi.Codec;
+import pink.catty.core.extension.spi.Codec.DataTypeEnum;
+import pink.catty.core.extension.spi.Compression;
+import pink.catty.core.extension.spi.Serialization;
+import pink.catty.core.invoker.frame.CompressedValue;
+import pink.catty.core.invoker.frame.DefaultRequest;
+import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.ErrorFrame;
+import pink.catty.core.invoker.frame.Payload;
+import pink.catty.core.invoker.frame.Request;
+import pink.catty.core.invoker.frame.Response;
+import pink.catty.extension.compression.Lz4Compression;
+
+public class CodecTest {
+
+  private static final String INTERFACE_NAME = "pink.catty.test.service.AService";
+  private static final String METHOD_NAME = "echo";
+
+  @Test
+  public void hessian2CorruptPayloadTest() {
+    Serialization serialization = ExtensionFactory.getSerialization()
+        .getExtensionSingleton(SerializationType.HESSIAN2);
+    byte[] valid = serialization.serialize("hello");
+    byte[] list = serialization.serialize(new ArrayList<>(Arrays.asList("a", "corrupt", "list")));
+    byte[] corrupt = Arrays.copyOf(list, list.length / 2);
+    for (int i = 0; i < 2; i++) {
+      try {
+        serialization.deserialize(corrupt, String.class);
+        Assert.fail("No exception found");
+      } catch (RuntimeException e) {
+        // a failed read must not break later reads of this thread.
+      }
+      Assert.assertEquals("hello", serialization.deserialize(valid, String.class));
+    }
+  }
+
+  @Test
+  public void decodeCopiesArgumentsTest() throws Exception {
+    Codec codec = ExtensionFactory.getCodec().getExtensionSingleton(CodecType.CATTY);
+    Request request = new DefaultRequest(2L, INTERFACE_NAME, METHOD_NAME,
+        new Object[]{new byte[]{1, 2, 3}});
+    List<byte[]> out = new ArrayList<>();
+    codec.readPackage(Unpooled.wrappedBuffer(codec.encode(request, DataTypeEnum.REQUEST)), out);
+    byte[] frame = out.get(0);
+    Request decoded = (Request) codec.decode(frame, DataTypeEnum.REQUEST);
+
+    // the frame is parsed with aliasing, decoded arguments must not share its bytes.
+    Arrays.fill(frame, (byte) 0);
+    Assert.assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) decoded.getArgsValue()[0]);
+  }
+
+  @Test
+  public void directCodecRequestTest() throws Exception {
+    ByteBufCodec codec = (ByteBufCodec) ExtensionFactory.getCodec()
+        .getExtensionSingleton(CodecType.CATTY_DIRECT);
+    Request request = new DefaultRequest(1L, INTERFACE_NAME, METHOD_NAME,
+        new Object[]{new byte[]{1, 2, 3}, new byte[1024]});
+
+    ByteBuf frame = codec.encode(request, DataTypeEnum.REQUEST, PooledByteBufAllocator.DEFAULT);
+    Assert.assertTrue(frame.isDirect());
+
+    List<ByteBuf> out = new ArrayList<>();
+    codec.readPackage(frame, out);
+    Assert.assertEquals(1, out.size());
+    Assert.assertFalse(frame.isReadable());
+    frame.release();
+
+    Request decoded = (Request) codec.decode(out.get(0), DataTypeEnum.REQUEST);
+    out.get(0).release();
+    Assert.assertEquals(0, frame.refCnt());
+    Assert.assertEquals(1L, decoded.getRequestId());
+    Assert.assertEquals(INTERFACE_NAME, decoded.getInterfaceName());
+    Assert.assertEquals(METHOD_NAME, decoded.getMethodName());
+    Assert.assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) decoded.getArgsValue()[0]);
+    Assert.assertEquals(1024, ((byte[]) decoded.getArgsValue()[1]).length);
+  }
+
+  @Test
+  public void directCodecResponseTest() throws Exception {
+    ByteBufCodec codec = (ByteBufCodec) ExtensionFactory.getCodec()
+        .getExtensionSingleton(CodecType.CATTY_DIRECT);
+    Response response = new DefaultResponse(2L);
+    response.setValue(new byte[]{4, 5, 6});
+
+    ByteBuf frame = codec.encode(response, DataTypeEnum.RESPONSE, PooledByteBufAllocator.DEFAULT);
+    List<ByteBuf> out = new ArrayList<>();
+    codec.readPackage(frame, out);
+    frame.release();
+
+    Response decoded = (Response) codec.decode(out.get(0), DataTypeEnum.RESPONSE);
+    out.get(0).release();
+    Assert.assertEquals(2L, decoded.getRequestId());
+    Assert.assertArrayEquals(new byte[]{4, 5, 6}, (byte[]) decoded.getValue());
+  }
+
+  @Test
+  public void directCodecErrorResponseTest() throws Exception {
+    ByteBufCodec codec = (ByteBufCodec) ExtensionFactory.getCodec()
+        .getExtensionSingleton(CodecType.CATTY_DIRECT);
+    Response response = new DefaultResponse(5L);
+    response.setValue(new ErrorFrame(new byte[]{0, 1}));
+
+    ByteBuf frame = codec.encode(response, DataTypeEnum.RESPONSE, PooledByteBufAllocator.DEFAULT);
+    List<ByteBuf> out = new ArrayList<>();
+    codec.readPackage(frame, out);
+    frame.release();
+
+    Response decoded = (Response) codec.decode(out.get(0), DataTypeEnum.RESPONSE);
+    out.get(0).release();
+    Assert.assertTrue(decoded.getValue() instanceof ErrorFrame);
+    Assert.assertArrayEquals(new byte[]{0, 1}, ((ErrorFrame) decoded.getValue()).getBytes());
+  }
+
+  @Test
+  public void compressedResponseTest() throws Exception {
+    Codec codec = ExtensionFactory.getCodec().getExtensionSingleton(CodecType.CATTY);
+    Compression compression = ExtensionFactory.getCompression()
+        .getExtensionSingleton(CompressionType.LZ4);
+    byte[] value = new byte[100000];
+    Arrays.fill(value, 0, 50000, (byte) 1);
+    Response response = new DefaultResponse(6L);
+    response.setValue(new CompressedValue(CompressionType.LZ4, compression.compress(value)));
+
+    byte[] frame = codec.encode(response, DataTypeEnum.RESPONSE);
+    Assert.assertTrue(frame.length < value.length / 10);
+    List<byte[]> out = new ArrayList<>();
+    codec.readPackage(Unpooled.wrappedBuffer(frame), out);
+    Response decoded = (Response) codec.decode(out.get(0), DataTypeEnum.RESPONSE);
+    CompressedValue compressed = (CompressedValue) decoded.getValue();
+    Assert.assertEquals(CompressionType.LZ4, compressed.getCompressionType());
+    Assert.assertArrayEquals(value, compression.decompress(compressed.getBytes()));
+  }
+
+  @Test
+  public void lz4OversizedLengthTest() {
+    Compression compression = new Lz4Compression(1024);
+    byte[] data = compression.compress(new byte[2048]);
+    try {
+      compression.decompress(data);
+      Assert.fail("No exception found");
+    } catch (SerializationException e) {
+      // original length over the limit.
+    }
+    Assert.assertEquals(1000, compression.decompress(compression.compress(new byte[1000])).length);
+
+    // a forged length of 2G.
+    data[0] = 0x7F;
+    try {
+      ExtensionFactory.getCompression().getExtensionSingleton(CompressionType.LZ4)
+          .decompress(data);
+      Assert.fail("No exception found");
+    } catch (SerializationException e) {
+      // original length over the default limit.
+    }
+  }
+
+  @Test
+  public void directCodecCompatibleTest() throws Exception {
+    Codec codec = ExtensionFactory.getCodec().getExtensionSingleton(CodecType.CATTY);
+    ByteBufCodec directCodec = (ByteBufCodec) ExtensionFactory.getCodec()
+        .getExtensionSingleton(CodecType.CATTY_DIRECT);
+    Request request = new DefaultRequest(3L, INTERFACE_NAME, METHOD_NAME,
+        new Object[]{new byte[]{7}});
+
+    ByteBuf frame = Unpooled.wrappedBuffer(codec.encode(request, DataTypeEnum.REQUEST));
+    List<ByteBuf> out = new ArrayList<>();
+    directCodec.readPackage(frame, out);
+    Request decoded = (Request) directCodec.decode(out.get(0), DataTypeEnum.REQUEST);
+    out.get(0).release();
+    Assert.assertEquals(3L, decoded.getRequestId());
+    Assert.assertArrayEquals(new byte[]{7}, (byte[]) decoded.getArgsValue()[0]);
+  }
+
+  @Test
+  public void directCodecPayloadTest() throws Exception {
+    ByteBufCodec codec = (ByteBufCodec) ExtensionFactory.getCodec()
+        .getExtensionSingleton(CodecType.CATTY_DIRECT);
+    Serialization serialization = ExtensionFactory.getSerialization()
+        .getExtensionSingleton(SerializationType.HESSIAN2);
+    char[] chars = new char[100000];
+    Arrays.fill(chars, 'a');
+    String large = new String(chars);
+    Request request = new DefaultRequest(4L, INTERFACE_NAME, METHOD_NAME,
+        new Object[]{new Payload(serialization, large), new byte[]{8},
+            new Payload(serialization, 9)});
+
+    ByteBuf frame = codec.encode(request, DataTypeEnum.REQUEST, PooledByteBufAllocator.DEFAULT);
+    List<ByteBuf> out = new ArrayList<>();
+    codec.readPackage(frame, out);
+    Assert.assertFalse(frame.isReadable());
+    frame.release();
+
+    Request decoded = (Request) codec.decode(out.get(0), DataTypeEnum.REQUEST);
+    out.get(0).release();
+    Assert.assertEquals(4L, decoded.getRequestId());
+    Assert.assertEquals(METHOD_NAME, decoded.getMethodName());
+    Assert.assertEquals(large,
+        serialization.deserialize((byte[]) decoded.getArgsValue()[0], String.class));
+    Assert.assertArrayEquals(new byte[]{8}, (byte[]) decoded.getArgsValue()[1]);
+    Assert.assertEquals(Integer.valueOf(9),
+        serialization.deserialize((byte[]) decoded.getArgsValue()[2], Integer.class));
+  }
+
+}
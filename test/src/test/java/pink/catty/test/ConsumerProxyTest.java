@@ -0,0 +1,167 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.Test;
+import pink.catty.core.extension.ExtensionType.LoadBalanceType;
+import pink.catty.core.invoker.Consumer;
+import pink.catty.core.invoker.Invocation;
+import pink.catty.core.invoker.Invoker;
+import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.Request;
+import pink.catty.core.invoker.frame.Response;
+import pink.catty.core.meta.ClusterMeta;
+import pink.catty.core.meta.ConsumerMeta;
+import pink.catty.core.service.ServiceModel;
+import pink.catty.invokers.cluster.FailFastCluster;
+import pink.catty.invokers.consumer.ConsumerHandler;
+
+public class ConsumerProxyTest {
+
+  @Test
+  public void generatedProxyTest() {
+    MockConsumer consumer = new MockConsumer();
+    ProxyService service = newProxy(ProxyService.class, consumer);
+    Assert.assertFalse(Proxy.isProxyClass(service.getClass()));
+    Assert.assertSame(service.getClass(), newProxy(ProxyService.class, consumer).getClass());
+
+    Assert.assertEquals("catty", service.echo("catty"));
+    Assert.assertEquals(7L, service.add(3, 4L));
+    Assert.assertEquals(6.0, service.scale(1.5, new int[]{2, 2}), 0.0);
+    service.fire("event");
+    Assert.assertEquals("fire", consumer.invoked.get(consumer.invoked.size() - 1));
+    Assert.assertNotNull(service.toString());
+  }
+
+  @Test
+  public void generatedProxyExceptionTest() {
+    ProxyService service = newProxy(ProxyService.class, new MockConsumer());
+    try {
+      service.read("declared");
+      Assert.fail("No exception found");
+    } catch (IOException e) {
+      Assert.assertEquals("declared", e.getMessage());
+    }
+    try {
+      service.echo("runtime");
+      Assert.fail("No exception found");
+    } catch (IllegalStateException e) {
+      Assert.assertEquals("runtime", e.getMessage());
+    }
+    try {
+      service.echo("undeclared");
+      Assert.fail("No exception found");
+    } catch (UndeclaredThrowableException e) {
+      Assert.assertEquals("undeclared", e.getCause().getMessage());
+    }
+  }
+
+  @Test
+  public void nonPublicInterfaceTest() {
+    HiddenService service = newProxy(HiddenService.class, new MockConsumer());
+    Assert.assertTrue(Proxy.isProxyClass(service.getClass()));
+    Assert.assertEquals("catty", service.echo("catty"));
+  }
+
+  private static <T> T newProxy(Class<T> interfaceClass, Consumer consumer) {
+    ServiceModel<T> serviceModel = ServiceModel.parse(interfaceClass);
+    ConsumerMeta consumerMeta = new ConsumerMeta();
+    consumerMeta.setServiceModel(serviceModel);
+    ClusterMeta clusterMeta = new ClusterMeta();
+    clusterMeta.setLoadBalance(LoadBalanceType.RANDOM);
+    FailFastCluster cluster = new FailFastCluster(clusterMeta);
+    cluster.setInvokerMap(new HashMap<>());
+    cluster.registerInvoker("mock", consumer);
+    return ConsumerHandler.getProxy(serviceModel, cluster);
+  }
+
+  public interface ProxyService {
+
+    String echo(String text);
+
+    long add(int a, long b);
+
+    double scale(double value, int[] factors);
+
+    void fire(String event);
+
+    String read(String message) throws IOException;
+  }
+
+  interface HiddenService {
+
+    String echo(String text);
+  }
+
+  /*
+   * Replies at once, the value depends on the invoked method and its arguments.
+   */
+  private static class MockConsumer implements Consumer {
+
+    private final List<String> invoked = new ArrayList<>();
+
+    @Override
+    public ConsumerMeta getMeta() {
+      return new ConsumerMeta();
+    }
+
+    @Override
+    public Invoker getNext() {
+      return null;
+    }
+
+    @Override
+    public Response invoke(Request request, Invocation invocation) {
+      Object[] args = request.getArgsValue();
+      String methodName = invocation.getInvokedMethod().getMethod().getName();
+      invoked.add(methodName);
+      Response response = new DefaultResponse(request.getRequestId());
+      switch (methodName) {
+        case "echo":
+          if ("runtime".equals(args[0])) {
+            response.setValue(new IllegalStateException("runtime"));
+          } else if ("undeclared".equals(args[0])) {
+            response.setValue(new Exception("undeclared"));
+          } else {
+            response.setValue(args[0]);
+          }
+          break;
+        case "add":
+          response.setValue((int) args[0] + (long) args[1]);
+          break;
+        case "scale":
+          double value = (double) args[0];
+          for (int factor : (int[]) args[1]) {
+            value *= factor;
+          }
+          response.setValue(value);
+          break;
+        case "read":
+          response.setValue(new IOException((String) args[0]));
+          break;
+        default:
+          response.setValue(null);
+      }
+      return response;
+    }
+  }
+}
@@ -15,14 +15,32 @@
 package pink.catty.test;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
+import pink.catty.core.CattyException;
 import pink.catty.core.CodecException;
+import pink.catty.core.RpcTimeoutException;
+import pink.catty.core.ServerBusyException;
 import pink.catty.core.config.InnerClientConfig;
 import pink.catty.core.extension.ExtensionFactory;
 import pink.catty.core.extension.spi.BrokenDataPackageException;
 import pink.catty.core.extension.spi.Codec;
+import pink.catty.core.invoker.Invocation;
+import pink.catty.core.invoker.Invoker;
+import pink.catty.core.invoker.Provider;
+import pink.catty.core.invoker.endpoint.AbstractClient;
+import pink.catty.core.invoker.endpoint.AbstractServer;
+import pink.catty.core.invoker.frame.DefaultRequest;
+import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.Request;
+import pink.catty.core.invoker.frame.Response;
+import pink.catty.core.meta.ClientMeta;
+import pink.catty.core.meta.ProviderMeta;
+import pink.catty.core.meta.ServerMeta;
+import pink.catty.core.service.RpcService;
+import pink.catty.core.service.ServiceModel;
 
 public class EndpointTest {
 
@@ -50,6 +68,131 @@ public class EndpointTest {
     Assert.assertEquals(TEST_ADDRESS, clientConfig.getAddress());
   }
 
+  @Test
+  public void inflightTest() {
+    ProviderMeta providerMeta = new ProviderMeta();
+    providerMeta.setServiceModel(ServiceModel.parse(LimitedService.class));
+    MockServer server = new MockServer();
+    server.open();
+    server.registerInvoker(LimitedService.class.getName(), new MockProvider(providerMeta));
+
+    // permits are taken before queueing, requests over the limit are rejected at once.
+    Invocation first = new Invocation();
+    Assert.assertNull(server.acquireInflight(newRequest(), first));
+    Response busy = server.acquireInflight(newRequest(), new Invocation());
+    Assert.assertTrue(busy.getValue() instanceof ServerBusyException);
+    Assert.assertEquals(1, server.getRejectedCount());
+
+    // released when the task is not executed.
+    server.releaseInflight(first);
+    Invocation second = new Invocation();
+    Request request = newRequest();
+    Assert.assertNull(server.acquireInflight(request, second));
+
+    // released when the response completes.
+    Response response = server.invoke(request, second);
+    Assert.assertNotNull(server.acquireInflight(newRequest(), new Invocation()));
+    response.setValue("pong");
+    Assert.assertNull(server.acquireInflight(newRequest(), new Invocation()));
+    server.close();
+  }
+
+  @Test
+  public void duplicatedRequestIdTest() {
+    MockClient client = new MockClient();
+    Response pending = new DefaultResponse(1L);
+    Assert.assertTrue(client.addCurrentTask(1L, pending));
+    Response duplicated = new DefaultResponse(1L);
+    Assert.assertFalse(client.addCurrentTask(1L, duplicated));
+    Assert.assertTrue(duplicated.getValue() instanceof CattyException);
+    Assert.assertFalse(pending.isDone());
+    Assert.assertSame(pending, client.getResponseFuture(1L));
+  }
+
+  @Test
+  public void timeoutEvictionTest() throws Exception {
+    MockClient client = new MockClient();
+    // the mock provider never replies.
+    Response response = new DefaultResponse(2L);
+    Assert.assertTrue(client.addCurrentTask(2L, response, 50));
+    Assert.assertFalse(response.isDone());
+    response.await(5, TimeUnit.SECONDS);
+    Assert.assertTrue(response.getValue() instanceof RpcTimeoutException);
+    Assert.assertEquals(1, client.getTimeoutCount());
+    Assert.assertNull(client.getResponseFuture(2L));
+  }
+
+  private static Request newRequest() {
+    Request request = new DefaultRequest();
+    request.setInterfaceName(LimitedService.class.getName());
+    request.setMethodName("echo");
+    return request;
+  }
+
+  @RpcService(maxInflight = 1)
+  public interface LimitedService {
+
+    String echo(String str);
+  }
+
+  private static class MockServer extends AbstractServer {
+
+    MockServer() {
+      super(new ServerMeta(), null);
+    }
+
+    @Override
+    protected void doOpen() {
+    }
+
+    @Override
+    protected void doClose() {
+    }
+  }
+
+  private static class MockClient extends AbstractClient {
+
+    MockClient() {
+      super(new ClientMeta(), null);
+    }
+
+    @Override
+    public Response invoke(Request request, Invocation invocation) {
+      return new DefaultResponse(request.getRequestId());
+    }
+
+    @Override
+    protected void doOpen() {
+    }
+
+    @Override
+    protected void doClose() {
+    }
+  }
+
+  private static class MockProvider implements Provider {
+
+    private final ProviderMeta meta;
+
+    MockProvider(ProviderMeta meta) {
+      this.meta = meta;
+    }
+
+    @Override
+    public ProviderMeta getMeta() {
+      return meta;
+    }
+
+    @Override
+    public Invoker getNext() {
+      return null;
+    }
+
+    @Override
+    public Response invoke(Request request, Invocation invocation) {
+      return new DefaultResponse(request.getRequestId());
+    }
+  }
 
   public static class MockCodec implements Codec {
 
@@ -14,9 +14,14 @@
  */
 package pink.catty.test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeoutException;
 import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -24,6 +29,7 @@ import pink.catty.core.service.MethodModel;
 import pink.catty.core.service.NotSupportedMethodException;
 import pink.catty.core.service.RpcMethod;
 import pink.catty.core.service.ServiceModel;
+import pink.catty.core.utils.ExceptionUtils;
 import pink.catty.test.MethodModelTest.MockMethod.MockObject;
 
 public class MethodModelTest {
@@ -91,6 +97,55 @@ public class MethodModelTest {
     Assert.assertEquals(methodModel.getGenericReturnType(), List.class);
   }
 
+  @Test
+  public void exceptionFrameTest() {
+    MethodModel methodModel = serviceModel.getMethodMetaByName("checkedException");
+    Assert.assertEquals(2, methodModel.getExceptionId(TimeoutException.class));
+    Assert.assertEquals(0, methodModel.getExceptionId(IllegalStateException.class));
+
+    Throwable declared = writeAndRead(methodModel, new TimeoutException("declared"));
+    Assert.assertEquals(TimeoutException.class, declared.getClass());
+    Assert.assertEquals("declared", declared.getMessage());
+
+    Throwable undeclared = writeAndRead(methodModel, new IllegalStateException());
+    Assert.assertEquals(IllegalStateException.class, undeclared.getClass());
+    Assert.assertNull(undeclared.getMessage());
+  }
+
+  @Test
+  public void exceptionStackTraceTest() {
+    Exception e = new IllegalStateException("stack");
+    MethodModel noStackTrace = serviceModel.getMethodMetaByName("checkedException");
+    Assert.assertFalse(
+        sameFrame(e.getStackTrace()[0], writeAndRead(noStackTrace, e).getStackTrace()[0]));
+
+    MethodModel stackTrace = serviceModel.getMethodMetaByName("stackTrace");
+    StackTraceElement[] expected = e.getStackTrace();
+    StackTraceElement[] actual = writeAndRead(stackTrace, e).getStackTrace();
+    Assert.assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      Assert.assertTrue(String.valueOf(actual[i]), sameFrame(expected[i], actual[i]));
+    }
+  }
+
+  /*
+   * StackTraceElement#equals() also compares class loader and module since Java 9, which are not
+   * sent.
+   */
+  private static boolean sameFrame(StackTraceElement expected, StackTraceElement actual) {
+    return expected.getClassName().equals(actual.getClassName())
+        && expected.getMethodName().equals(actual.getMethodName())
+        && Objects.equals(expected.getFileName(), actual.getFileName())
+        && expected.getLineNumber() == actual.getLineNumber();
+  }
+
+  private static Throwable writeAndRead(MethodModel methodModel, Throwable t) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ExceptionUtils.writeException(t, methodModel, out);
+    return ExceptionUtils
+        .readException(new ByteArrayInputStream(out.toByteArray()), methodModel);
+  }
+
   @Test(expected = NotSupportedMethodException.class)
   public void invalidMethod0Test() {
     ServiceModel.parse(InvalidMethod0.class);
@@ -127,6 +182,12 @@ public class MethodModelTest {
     @RpcMethod(name = "genericReturn")
     List<T> genericReturn();
 
+    @RpcMethod(name = "checkedException")
+    void checkedException() throws IOException, TimeoutException;
+
+    @RpcMethod(name = "stackTrace", sendStackTrace = true)
+    void stackTrace();
+
     class MockObject {
 
     }
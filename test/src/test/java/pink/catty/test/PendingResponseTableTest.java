@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import pink.catty.core.invoker.frame.DefaultResponse;
+import pink.catty.core.invoker.frame.Response;
+import pink.catty.core.support.PendingResponseTable;
+
+public class PendingResponseTableTest {
+
+  @Test
+  public void putAndRemoveTest() {
+    PendingResponseTable table = new PendingResponseTable(10);
+    Assert.assertEquals(16, table.capacity());
+
+    Response response = new DefaultResponse(1L);
+    Assert.assertTrue(table.put(1L, response));
+    Assert.assertFalse(table.put(1L, new DefaultResponse(1L)));
+    Assert.assertEquals(1, table.size());
+    Assert.assertSame(response, table.remove(1L));
+    Assert.assertNull(table.remove(1L));
+    Assert.assertEquals(0, table.size());
+    Assert.assertEquals(1, table.getStaleCount());
+  }
+
+  @Test
+  public void staleReplyTest() {
+    PendingResponseTable table = new PendingResponseTable(16);
+    Response response = new DefaultResponse(17L);
+    table.put(17L, response);
+
+    // request 1 uses the same slot as request 17.
+    Assert.assertNull(table.remove(1L));
+    Assert.assertEquals(1, table.getStaleCount());
+    Assert.assertFalse(table.remove(17L, new DefaultResponse(17L)));
+    Assert.assertTrue(table.remove(17L, response));
+  }
+
+  @Test
+  public void overflowTest() {
+    PendingResponseTable table = new PendingResponseTable(16);
+    Response first = new DefaultResponse(3L);
+    Response second = new DefaultResponse(19L);
+    table.put(3L, first);
+    table.put(19L, second);
+    Assert.assertEquals(2, table.size());
+    Assert.assertEquals(1, table.getOverflowSize());
+    Assert.assertEquals(1, table.getCollisionCount());
+
+    Assert.assertSame(second, table.remove(19L));
+    Assert.assertSame(first, table.remove(3L));
+    Assert.assertEquals(0, table.size());
+    Assert.assertEquals(0, table.getOverflowSize());
+  }
+
+  @Test
+  public void overflowDuplicateTest() {
+    PendingResponseTable table = new PendingResponseTable(16);
+    Response first = new DefaultResponse(3L);
+    Response second = new DefaultResponse(19L);
+    table.put(3L, first);
+    table.put(19L, second);
+    Assert.assertSame(first, table.remove(3L));
+
+    // the slot is free, but 19 is still waiting in the overflow map.
+    Assert.assertFalse(table.put(19L, new DefaultResponse(19L)));
+    Assert.assertEquals(1, table.size());
+    Assert.assertSame(second, table.remove(19L));
+    Assert.assertTrue(table.put(19L, new DefaultResponse(19L)));
+    Assert.assertEquals(0, table.getOverflowSize());
+  }
+
+}
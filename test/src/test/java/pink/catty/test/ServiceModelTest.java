@@ -14,7 +14,16 @@
  */
 package pink.catty.test;
 
+import org.junit.Assert;
 import org.junit.Test;
+import pink.catty.core.invoker.endpoint.AbstractServer;
+import pink.catty.core.invoker.frame.DefaultRequest;
+import pink.catty.core.invoker.frame.Request;
+import pink.catty.core.service.ExecuteOn;
+import pink.catty.core.service.MethodModel;
+import pink.catty.core.service.OrderKey;
+import pink.catty.core.service.RpcMethod;
+import pink.catty.core.service.RpcService;
 import pink.catty.core.service.ServiceModel;
 
 public class ServiceModelTest {
@@ -24,6 +33,36 @@ public class ServiceModelTest {
     ServiceModel.parse(MockService0.class);
   }
 
+  @Test
+  public void testExecuteOn() {
+    ServiceModel<MockService2> serviceModel = ServiceModel.parse(MockService2.class);
+    Assert.assertEquals(ExecuteOn.IO, serviceModel.getExecuteOn());
+    Assert.assertEquals(ExecuteOn.IO,
+        serviceModel.getMethodMetaByName("get").getExecuteOn());
+    Assert.assertEquals(ExecuteOn.WORKER,
+        serviceModel.getMethodMetaByName("load").getExecuteOn());
+    Assert.assertEquals(ExecuteOn.WORKER,
+        ServiceModel.parse(MockService0.class).getMethodModels().get(0).getExecuteOn());
+  }
+
+  @Test
+  public void testOrderKey() {
+    ServiceModel<MockService2> serviceModel = ServiceModel.parse(MockService2.class);
+    MethodModel get = serviceModel.getMethodMetaByName("get");
+    MethodModel load = serviceModel.getMethodMetaByName("load");
+    Assert.assertEquals(0, get.getOrderKeyIndex());
+    Assert.assertEquals(-1, load.getOrderKeyIndex());
+
+    Request request1 = new DefaultRequest();
+    request1.setArgsValue(new Object[]{"key".getBytes()});
+    Request request2 = new DefaultRequest();
+    request2.setArgsValue(new Object[]{"key".getBytes()});
+    // keys decide the order whichever connection the requests come from.
+    Assert.assertEquals(AbstractServer.getOrderHash(request1, get, 1),
+        AbstractServer.getOrderHash(request2, get, 2));
+    Assert.assertEquals(2, AbstractServer.getOrderHash(request2, load, 2));
+  }
+
   public interface MockService0 {
 
     String echo(String str);
@@ -58,4 +97,14 @@ public class ServiceModelTest {
 
     void finalize();
   }
+
+  @RpcService(executeOn = ExecuteOn.IO)
+  public interface MockService2 {
+
+    @RpcMethod(name = "get")
+    String get(@OrderKey String key);
+
+    @RpcMethod(name = "load", executeOn = ExecuteOn.WORKER)
+    String load(String key);
+  }
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2020 The Catty Project
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pink.catty.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import pink.catty.core.support.worker.HashLoopGroup;
+import pink.catty.core.support.worker.HashableChooserFactory;
+import pink.catty.core.support.worker.StandardThreadExecutor;
+
+public class WorkerTest {
+
+  @Test
+  public void hashLoopGroupTest() throws InterruptedException {
+    HashLoopGroup group1 = new HashLoopGroup(3, HashableChooserFactory.INSTANCE);
+    HashLoopGroup group2 = new HashLoopGroup(4, HashableChooserFactory.INSTANCE);
+    Assert.assertEquals(3, group1.getPendingTasks().length);
+    Assert.assertEquals(4, group2.getPendingTasks().length);
+
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch latch = new CountDownLatch(1000);
+    for (int i = 0; i < 1000; i++) {
+      int value = i;
+      // negative hash.
+      group1.submit(-7, () -> {
+        executed.add(value);
+        latch.countDown();
+      });
+    }
+    Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals(i, (int) executed.get(i));
+    }
+    group1.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    group2.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+  }
+
+  @Test
+  public void mpscLoopGroupTest() throws InterruptedException {
+    HashLoopGroup group = new HashLoopGroup(2, HashableChooserFactory.INSTANCE, 1024);
+    List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch latch = new CountDownLatch(20000);
+    Thread[] producers = new Thread[4];
+    for (int p = 0; p < producers.length; p++) {
+      int producer = p;
+      producers[p] = new Thread(() -> {
+        for (int i = 0; i < 5000; i++) {
+          int value = i;
+          for (; ; ) {
+            try {
+              group.submit(producer, () -> {
+                if (producer == 0) {
+                  executed.add(value);
+                }
+                latch.countDown();
+              });
+              break;
+            } catch (RejectedExecutionException e) {
+              // queue is full, retry.
+              Thread.yield();
+            }
+          }
+        }
+      });
+      producers[p].start();
+    }
+    Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+    for (int i = 0; i < 5000; i++) {
+      Assert.assertEquals(i, (int) executed.get(i));
+    }
+
+    // workers are parked when idle and waked up by new tasks.
+    Thread.sleep(100);
+    CountDownLatch wakeup = new CountDownLatch(1);
+    group.submit(1, wakeup::countDown);
+    Assert.assertTrue(wakeup.await(1, TimeUnit.SECONDS));
+    group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+  }
+
+  @Test
+  public void standardThreadExecutorTest() throws InterruptedException {
+    StandardThreadExecutor executor = new StandardThreadExecutor(1, 2, 2);
+    CountDownLatch running = new CountDownLatch(2);
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable task = () -> {
+      running.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        // exit.
+      }
+    };
+    // threads grow to max before tasks are queued.
+    executor.execute(task);
+    executor.execute(task);
+    Assert.assertTrue(running.await(1, TimeUnit.SECONDS));
+    Assert.assertEquals(2, executor.getActiveThreadCount());
+    executor.execute(task);
+    executor.execute(task);
+    Assert.assertEquals(2, executor.getQueueLength());
+    try {
+      executor.execute(task);
+      Assert.fail("No exception found");
+    } catch (RejectedExecutionException e) {
+      // over capacity.
+    }
+    Assert.assertEquals(1, executor.getRejectedCount());
+    Assert.assertEquals(4, executor.getSubmittedTasksCount());
+
+    release.countDown();
+    executor.shutdown();
+    Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    Assert.assertEquals(0, executor.getSubmittedTasksCount());
+    Assert.assertEquals(0, executor.getQueueLength());
+  }
+
+  @Test
+  public void standardThreadExecutorCapacityTest() throws InterruptedException {
+    StandardThreadExecutor executor = new StandardThreadExecutor(2, 4, 100);
+    CountDownLatch release = new CountDownLatch(1);
+    Runnable task = () -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        // exit.
+      }
+    };
+    // concurrent submitters share the capacity, no more and no fewer tasks are accepted.
+    AtomicInteger accepted = new AtomicInteger();
+    List<Thread> submitters = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      Thread submitter = new Thread(() -> {
+        for (int j = 0; j < 50; j++) {
+          try {
+            executor.execute(task);
+            accepted.incrementAndGet();
+          } catch (RejectedExecutionException e) {
+            // over capacity.
+          }
+        }
+      });
+      submitters.add(submitter);
+      submitter.start();
+    }
+    for (Thread submitter : submitters) {
+      submitter.join();
+    }
+    Assert.assertEquals(104, accepted.get());
+    Assert.assertEquals(104, executor.getSubmittedTasksCount());
+    Assert.assertEquals(400 - 104, executor.getRejectedCount());
+
+    release.countDown();
+    executor.shutdown();
+    Assert.assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+    Assert.assertEquals(0, executor.getSubmittedTasksCount());
+  }
+
+}